@@ -0,0 +1,115 @@
+import java.util.Arrays;
+
+/**
+* A growable array of ints. Used by Selector to collect results in a
+* single pass without knowing their number in advance. Clearing the
+* array keeps its storage, so one instance can be reused across calls.
+*
+* @author   Li-Kai Lin
+* @version  2026-10-18
+*
+*/
+public final class GrowableIntArray {
+
+   private static final int DEFAULT_CAPACITY = 16;
+
+   private int[] elements;
+   private int size;
+
+   /**
+    * Builds an empty array with a small default capacity.
+    */
+   public GrowableIntArray() {
+      this(DEFAULT_CAPACITY);
+   }
+
+   /**
+    * Builds an empty array that can hold capacity values before it
+    * has to grow. This constructor throws IllegalArgumentException if
+    * capacity is negative.
+    */
+   public GrowableIntArray(int capacity) {
+      if (capacity < 0) {
+         throw new IllegalArgumentException("Error.");
+      }
+      elements = new int[capacity];
+      size = 0;
+   }
+
+
+   /**
+    * Returns the number of values in this array.
+    */
+   public int size() {
+      return size;
+   }
+
+
+   /**
+    * Returns true if this array holds no values.
+    */
+   public boolean isEmpty() {
+      return size == 0;
+   }
+
+
+   /**
+    * Appends value to the end of this array.
+    */
+   public void add(int value) {
+      if (size == elements.length) {
+         grow(size + 1);
+      }
+      elements[size] = value;
+      size++;
+   }
+
+
+   /**
+    * Returns the value at index i. This method throws
+    * IndexOutOfBoundsException if i < 0 or i >= size().
+    */
+   public int get(int i) {
+      if (i < 0 || i >= size) {
+         throw new IndexOutOfBoundsException("Error.");
+      }
+      return elements[i];
+   }
+
+
+   /**
+    * Removes every value but keeps the storage for reuse.
+    */
+   public void clear() {
+      size = 0;
+   }
+
+
+   /**
+    * Makes sure this array can hold at least capacity values without
+    * growing again.
+    */
+   public void ensureCapacity(int capacity) {
+      if (capacity > elements.length) {
+         grow(capacity);
+      }
+   }
+
+
+   /**
+    * Returns a new int[] holding the values of this array in order.
+    */
+   public int[] toArray() {
+      return Arrays.copyOf(elements, size);
+   }
+
+
+   //at least double the storage so that appends stay amortized O(1)
+   private void grow(int minCapacity) {
+      int doubled = elements.length * 2;
+      if (doubled < 0) {
+         doubled = Integer.MAX_VALUE - 8;
+      }
+      elements = Arrays.copyOf(elements, Math.max(minCapacity, doubled));
+   }
+}
@@ -0,0 +1,216 @@
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+* Defines the Selector methods on int columns that live outside the
+* Java heap: direct IntBuffers, or files mapped with FileChannel.map.
+*
+* A column is given as one or more IntBuffers that are read in order, as
+* if they were one long array. Only the elements between each buffer's
+* position and limit are read, the buffers' positions are not changed,
+* and no method copies the column onto the heap; the only heap storage
+* used is the result itself (for range) or a KthTracker of O(k) ints
+* (for kmin/kmax).
+* Because a single mapping is limited to 2GB, map splits larger files
+* into several buffers.
+*
+* Every method throws IllegalArgumentException where the matching
+* Selector method would, treating a null or empty column like a null or
+* zero-length array. kmin and kmax also reject k > KthTracker.MAX_K.
+*
+* @author   Li-Kai Lin
+* @version  2026-10-18
+*
+*/
+public final class IntColumnSelector {
+
+   /** ints per mapped segment: 1GB, well under the 2GB mapping limit. */
+   private static final int SEGMENT_INTS = 1 << 28;
+
+   /**
+    * Can't instantiate this class.
+    */
+   private IntColumnSelector() { }
+
+
+   /**
+    * Maps the file at path read-only as a column of ints in the given
+    * byte order. Trailing bytes that do not fill a whole int are
+    * ignored. The mapping stays valid after this method returns, even
+    * though the file channel is closed.
+    */
+   public static IntBuffer[] map(Path path, ByteOrder order) throws IOException {
+      try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+         long ints = channel.size() / Integer.BYTES;
+         int segments = (int) ((ints + SEGMENT_INTS - 1) / SEGMENT_INTS);
+         IntBuffer[] column = new IntBuffer[segments];
+         for (int s = 0; s < segments; s++) {
+            long first = (long) s * SEGMENT_INTS;
+            long count = Math.min(SEGMENT_INTS, ints - first);
+            column[s] = channel.map(FileChannel.MapMode.READ_ONLY,
+                                    first * Integer.BYTES, count * Integer.BYTES)
+                               .order(order).asIntBuffer();
+         }
+         return column;
+      }
+   }
+
+
+   /**
+    * Selects the minimum value from the column.
+    */
+   public static int min(IntBuffer... column) {
+      check(column);
+      int min = Integer.MAX_VALUE;
+      for (IntBuffer b : column) {
+         for (int i = b.position(); i < b.limit(); i++) {
+            min = Math.min(min, b.get(i));
+         }
+      }
+      return min;
+   }
+
+
+   /**
+    * Selects the maximum value from the column.
+    */
+   public static int max(IntBuffer... column) {
+      check(column);
+      int max = Integer.MIN_VALUE;
+      for (IntBuffer b : column) {
+         for (int i = b.position(); i < b.limit(); i++) {
+            max = Math.max(max, b.get(i));
+         }
+      }
+      return max;
+   }
+
+
+   /**
+    * Selects the kth minimum value from the column, in one pass that
+    * keeps only the k smallest distinct values seen so far, in a heap.
+    */
+   public static int kmin(int k, IntBuffer... column) {
+      return kth(k, false, column);
+   }
+
+
+   /**
+    * Selects the kth maximum value from the column, in one pass that
+    * keeps only the k largest distinct values seen so far, in a heap.
+    */
+   public static int kmax(int k, IntBuffer... column) {
+      return kth(k, true, column);
+   }
+
+
+   /**
+    * Returns an array containing all the values in the column in the
+    * range [low..high], including duplicates, in column order.
+    */
+   public static int[] range(int low, int high, IntBuffer... column) {
+      check(column);
+      GrowableIntArray out = new GrowableIntArray();
+      for (IntBuffer b : column) {
+         for (int i = b.position(); i < b.limit(); i++) {
+            int v = b.get(i);
+            if (v <= high && v >= low) {
+               out.add(v);
+            }
+         }
+      }
+      return out.toArray();
+   }
+
+
+   /**
+    * Returns the smallest value in the column that is greater than or
+    * equal to key.
+    */
+   public static int ceiling(int key, IntBuffer... column) {
+      check(column);
+      boolean found = false;
+      int cLing = 0;
+      for (IntBuffer b : column) {
+         for (int i = b.position(); i < b.limit(); i++) {
+            int v = b.get(i);
+            if (v >= key && (!found || v < cLing)) {
+               cLing = v;
+               found = true;
+            }
+         }
+      }
+      if (!found) {
+         throw new IllegalArgumentException("Error.");
+      }
+      return cLing;
+   }
+
+
+   /**
+    * Returns the largest value in the column that is less than or
+    * equal to key.
+    */
+   public static int floor(int key, IntBuffer... column) {
+      check(column);
+      boolean found = false;
+      int fl = 0;
+      for (IntBuffer b : column) {
+         for (int i = b.position(); i < b.limit(); i++) {
+            int v = b.get(i);
+            if (v <= key && (!found || v > fl)) {
+               fl = v;
+               found = true;
+            }
+         }
+      }
+      if (!found) {
+         throw new IllegalArgumentException("Error.");
+      }
+      return fl;
+   }
+
+
+   /**
+    * Streams the column through a KthTracker that keeps only the heap
+    * for the requested direction: the k smallest distinct values for
+    * kmin, the k largest for kmax. Memory is O(k) and each value costs
+    * O(log k) at worst.
+    */
+   private static int kth(int k, boolean fromTop, IntBuffer... column) {
+      long length = check(column);
+      if (k < 1 || k > length) {
+         throw new IllegalArgumentException("Error.");
+      }
+      KthTracker tracker = fromTop ? KthTracker.highOnly(k) : KthTracker.lowOnly(k);
+      for (IntBuffer b : column) {
+         for (int i = b.position(); i < b.limit(); i++) {
+            tracker.add(b.get(i));
+         }
+      }
+      return fromTop ? tracker.kmax() : tracker.kmin();
+   }
+
+
+   //rejects a null or empty column and returns its total length
+   private static long check(IntBuffer[] column) {
+      if (column == null) {
+         throw new IllegalArgumentException("Error.");
+      }
+      long length = 0;
+      for (IntBuffer b : column) {
+         if (b == null) {
+            throw new IllegalArgumentException("Error.");
+         }
+         length += b.remaining();
+      }
+      if (length == 0) {
+         throw new IllegalArgumentException("Error.");
+      }
+      return length;
+   }
+}
@@ -0,0 +1,206 @@
+import java.nio.IntBuffer;
+import java.util.Arrays;
+
+/**
+* A sorted snapshot of an array of ints that answers the same queries
+* as Selector without rescanning the array. Building the index costs one
+* sort; after that min, max, kmin and kmax take constant time, ceiling
+* and floor take O(log n), and range takes O(log n) and copies nothing.
+*
+* The index copies its input, so later changes to the source array are
+* not seen by the index.
+*
+* @author   Li-Kai Lin
+* @version  2026-10-18
+*
+*/
+public final class IntSelectorIndex {
+
+   /** every value of the source array in ascending order. */
+   private final int[] sorted;
+
+   /** the distinct values of the source array in ascending order. */
+   private final int[] distinct;
+
+   /** counts[i] is the number of times distinct[i] occurs. */
+   private final int[] counts;
+
+   /**
+    * Builds an index over the values in a. This constructor throws
+    * IllegalArgumentException if a is null or has zero length. The
+    * array a is not changed by this constructor.
+    */
+   public IntSelectorIndex(int[] a) {
+      if (a == null || a.length == 0) {
+         throw new IllegalArgumentException("Error.");
+      }
+      sorted = Arrays.copyOf(a, a.length);
+      Arrays.sort(sorted);
+
+      int realLength = 1;
+      for (int i = 1; i < sorted.length; i++) {
+         if (sorted[i] != sorted[i - 1]) {
+            realLength++;
+         }
+      }
+
+      distinct = new int[realLength];
+      counts = new int[realLength];
+      int d = 0;
+      distinct[0] = sorted[0];
+      counts[0] = 1;
+      for (int i = 1; i < sorted.length; i++) {
+         if (sorted[i] != sorted[i - 1]) {
+            d++;
+            distinct[d] = sorted[i];
+         }
+         counts[d]++;
+      }
+   }
+
+
+   /**
+    * Returns the number of values in the index, including duplicates.
+    */
+   public int size() {
+      return sorted.length;
+   }
+
+
+   /**
+    * Returns the number of distinct values in the index.
+    */
+   public int distinctCount() {
+      return distinct.length;
+   }
+
+
+   /**
+    * Returns the number of times value occurs in the index, or zero
+    * if it does not occur.
+    */
+   public int count(int value) {
+      int i = Arrays.binarySearch(distinct, value);
+      return (i < 0) ? 0 : counts[i];
+   }
+
+
+   /**
+    * Returns the minimum value. Same result as Selector.min.
+    */
+   public int min() {
+      return distinct[0];
+   }
+
+
+   /**
+    * Returns the maximum value. Same result as Selector.max.
+    */
+   public int max() {
+      return distinct[distinct.length - 1];
+   }
+
+
+   /**
+    * Returns the kth minimum value. This method throws
+    * IllegalArgumentException in exactly the cases Selector.kmin does.
+    */
+   public int kmin(int k) {
+      checkK(k);
+      return distinct[k - 1];
+   }
+
+
+   /**
+    * Returns the kth maximum value. This method throws
+    * IllegalArgumentException in exactly the cases Selector.kmax does.
+    */
+   public int kmax(int k) {
+      checkK(k);
+      return distinct[distinct.length - k];
+   }
+
+
+   /**
+    * Returns a read-only view of all the values in the range
+    * [low..high], including duplicates. The view shares storage with
+    * the index, so no values are copied. It holds the same values as
+    * Selector.range would return, but in ascending order rather than
+    * in the order they appeared in the source array. If there are no
+    * qualifying values the view has zero remaining elements.
+    */
+   public IntBuffer range(int low, int high) {
+      int from = lowerBound(sorted, low);
+      int to = (high < low) ? from : upperBound(sorted, high);
+      return IntBuffer.wrap(sorted, from, to - from).slice().asReadOnlyBuffer();
+   }
+
+
+   /**
+    * Returns the smallest value that is greater than or equal to key.
+    * This method throws IllegalArgumentException if there is no
+    * qualifying value. Same result as Selector.ceiling.
+    */
+   public int ceiling(int key) {
+      int i = lowerBound(distinct, key);
+      if (i == distinct.length) {
+         throw new IllegalArgumentException("Error.");
+      }
+      return distinct[i];
+   }
+
+
+   /**
+    * Returns the largest value that is less than or equal to key.
+    * This method throws IllegalArgumentException if there is no
+    * qualifying value. Same result as Selector.floor.
+    */
+   public int floor(int key) {
+      int i = upperBound(distinct, key) - 1;
+      if (i < 0) {
+         throw new IllegalArgumentException("Error.");
+      }
+      return distinct[i];
+   }
+
+
+   private void checkK(int k) {
+      if (k < 1 || k > sorted.length || k > distinct.length) {
+         throw new IllegalArgumentException("Error.");
+      }
+   }
+
+
+   //index of the first element of x that is >= key
+   private static int lowerBound(int[] x, int key) {
+      int lo = 0;
+      int hi = x.length;
+      while (lo < hi) {
+         int mid = (lo + hi) >>> 1;
+         if (x[mid] < key) {
+            lo = mid + 1;
+         }
+         else {
+            hi = mid;
+         }
+      }
+      return lo;
+   }
+
+
+   //index of the first element of x that is > key
+   private static int upperBound(int[] x, int key) {
+      int lo = 0;
+      int hi = x.length;
+      while (lo < hi) {
+         int mid = (lo + hi) >>> 1;
+         if (x[mid] <= key) {
+            lo = mid + 1;
+         }
+         else {
+            hi = mid;
+         }
+      }
+      return lo;
+   }
+}
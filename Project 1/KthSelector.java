@@ -0,0 +1,286 @@
+import java.util.Arrays;
+
+/**
+* Selects the kth distinct order statistic from an array of ints in
+* expected linear time.
+*
+* The distinct values of the input are gathered into a single scratch
+* buffer (an open-addressing hash table that is compacted in place), and
+* the kth value is then found by quickselect. If quickselect keeps
+* choosing poor pivots it falls back to median-of-medians, so the worst
+* case stays linear as well. The table holds about 4n/3 ints, so it is
+* never more than a third larger than the input; only when that exceeds
+* MAX_TABLE are the values sorted instead. The scratch buffer is kept
+* between calls and only grows, so repeated calls on arrays of similar
+* size do not allocate.
+*
+* Instances are not thread-safe; use one KthSelector per thread.
+*
+* @author   Li-Kai Lin
+* @version  2026-10-18
+*
+*/
+public final class KthSelector {
+
+   /** Largest hash table this class will allocate. */
+   private static final int MAX_TABLE = 1 << 30;
+
+   /** Partitions at or below this size are finished by insertion sort. */
+   private static final int INSERTION_CUTOFF = 16;
+
+   /** Reusable scratch buffer; grows on demand and is never shrunk. */
+   private int[] scratch;
+
+   /**
+    * Builds a selector with an empty scratch buffer.
+    */
+   public KthSelector() {
+      scratch = new int[0];
+   }
+
+
+   /**
+    * Selects the kth minimum value from the array a. This method
+    * throws IllegalArgumentException if a is null, has zero length,
+    * or if there is no kth minimum value. Note that there is no kth
+    * minimum value if k < 1, k > a.length, or if k is larger than
+    * the number of distinct values in the array. The array a is not
+    * changed by this method.
+    */
+   public int kmin(int[] a, int k) {
+      int distinct = gather(a, k);
+      return select(scratch, 0, distinct - 1, k - 1);
+   }
+
+
+   /**
+    * Selects the kth maximum value from the array a. This method
+    * throws IllegalArgumentException if a is null, has zero length,
+    * or if there is no kth maximum value. Note that there is no kth
+    * maximum value if k < 1, k > a.length, or if k is larger than
+    * the number of distinct values in the array. The array a is not
+    * changed by this method.
+    */
+   public int kmax(int[] a, int k) {
+      int distinct = gather(a, k);
+      return select(scratch, 0, distinct - 1, distinct - k);
+   }
+
+
+   /**
+    * Validates the arguments, copies the distinct values of a into
+    * scratch[0..d) and returns d.
+    */
+   private int gather(int[] a, int k) {
+      if (a == null || a.length == 0) {
+         throw new IllegalArgumentException("Error.");
+      }
+      if (k < 1 || k > a.length) {
+         throw new IllegalArgumentException("Error.");
+      }
+
+      // keep the load factor at or below 3/4; the capacity need not be a
+      // power of two, so it stays close to 4n/3 for every n
+      long capacity = a.length + a.length / 3L + 1;
+      int distinct;
+      if (capacity > MAX_TABLE) {
+         distinct = sortedDistinct(a);
+      }
+      else {
+         distinct = hashedDistinct(a, (int) capacity);
+      }
+
+      if (k > distinct) {
+         throw new IllegalArgumentException("Error.");
+      }
+      return distinct;
+   }
+
+
+   /**
+    * Inserts every value of a into an open-addressing table of the given
+    * capacity held in scratch, then slides the occupied slots down to
+    * the front of the buffer. A hash is mapped to a slot by multiplying
+    * it by the capacity and keeping the high 32 bits, which works for
+    * any capacity. Zero marks an empty slot, so whether 0 occurs in a is
+    * tracked separately.
+    */
+   private int hashedDistinct(int[] a, int capacity) {
+      ensureCapacity(capacity);
+      int[] table = scratch;
+      Arrays.fill(table, 0, capacity, 0);
+
+      boolean sawZero = false;
+      for (int i = 0; i < a.length; i++) {
+         int v = a[i];
+         if (v == 0) {
+            sawZero = true;
+            continue;
+         }
+         int slot = (int) (((mix(v) & 0xffffffffL) * capacity) >>> 32);
+         while (table[slot] != 0 && table[slot] != v) {
+            slot++;
+            if (slot == capacity) {
+               slot = 0;
+            }
+         }
+         table[slot] = v;
+      }
+
+      //compact the occupied slots to the front of the table
+      int distinct = 0;
+      for (int i = 0; i < capacity; i++) {
+         if (table[i] != 0) {
+            table[distinct] = table[i];
+            distinct++;
+         }
+      }
+      if (sawZero) {
+         table[distinct] = 0;
+         distinct++;
+      }
+      return distinct;
+   }
+
+
+   /**
+    * Fallback for arrays whose hash table would be too large: copies a
+    * into scratch, sorts it and removes adjacent duplicates in place.
+    */
+   private int sortedDistinct(int[] a) {
+      ensureCapacity(a.length);
+      System.arraycopy(a, 0, scratch, 0, a.length);
+      Arrays.sort(scratch, 0, a.length);
+
+      int distinct = 1;
+      for (int i = 1; i < a.length; i++) {
+         if (scratch[i] != scratch[distinct - 1]) {
+            scratch[distinct] = scratch[i];
+            distinct++;
+         }
+      }
+      return distinct;
+   }
+
+
+   //grow the scratch buffer to at least the given length
+   private void ensureCapacity(int length) {
+      if (scratch.length < length) {
+         scratch = new int[length];
+      }
+   }
+
+
+   //spread the bits of v so that clustered keys do not collide
+   private static int mix(int v) {
+      int h = v * 0x9E3779B9;
+      return h ^ (h >>> 16);
+   }
+
+
+   /**
+    * Rearranges x[lo..hi] so that x[target] holds the value that would
+    * be there if the range were sorted, and returns it. The values in
+    * x[lo..hi] must be distinct.
+    */
+   private static int select(int[] x, int lo, int hi, int target) {
+      // allow about 2 log n quickselect rounds before switching to
+      // the guaranteed-linear pivot
+      int budget = 2 * (32 - Integer.numberOfLeadingZeros(hi - lo + 1));
+      while (hi - lo >= INSERTION_CUTOFF) {
+         int pivot;
+         if (budget > 0) {
+            budget--;
+            pivot = medianOfThree(x, lo, (lo + hi) >>> 1, hi);
+         }
+         else {
+            pivot = medianOfMedians(x, lo, hi);
+         }
+         pivot = partition(x, lo, hi, pivot);
+         if (pivot == target) {
+            return x[pivot];
+         }
+         else if (target < pivot) {
+            hi = pivot - 1;
+         }
+         else {
+            lo = pivot + 1;
+         }
+      }
+      insertionSort(x, lo, hi);
+      return x[target];
+   }
+
+
+   /**
+    * Returns the index of a pivot that is guaranteed to have at least
+    * roughly 30% of x[lo..hi] on each side of it.
+    */
+   private static int medianOfMedians(int[] x, int lo, int hi) {
+      //move the median of each group of five to the front
+      int groups = 0;
+      for (int start = lo; start <= hi; start += 5) {
+         int end = Math.min(start + 4, hi);
+         insertionSort(x, start, end);
+         swap(x, lo + groups, (start + end) >>> 1);
+         groups++;
+      }
+      int mid = lo + (groups - 1) / 2;
+      select(x, lo, lo + groups - 1, mid);
+      return mid;
+   }
+
+
+   //index of the median of x[i], x[j] and x[k]
+   private static int medianOfThree(int[] x, int i, int j, int k) {
+      if (x[i] < x[j]) {
+         if (x[j] < x[k]) {
+            return j;
+         }
+         return (x[i] < x[k]) ? k : i;
+      }
+      if (x[i] < x[k]) {
+         return i;
+      }
+      return (x[j] < x[k]) ? k : j;
+   }
+
+
+   /**
+    * Partitions x[lo..hi] around x[pivot] and returns the pivot's final
+    * index.
+    */
+   private static int partition(int[] x, int lo, int hi, int pivot) {
+      int pv = x[pivot];
+      swap(x, pivot, hi);
+      int store = lo;
+      for (int i = lo; i < hi; i++) {
+         if (x[i] < pv) {
+            swap(x, i, store);
+            store++;
+         }
+      }
+      swap(x, store, hi);
+      return store;
+   }
+
+
+   private static void insertionSort(int[] x, int lo, int hi) {
+      for (int i = lo + 1; i <= hi; i++) {
+         int v = x[i];
+         int j = i - 1;
+         while (j >= lo && x[j] > v) {
+            x[j + 1] = x[j];
+            j--;
+         }
+         x[j + 1] = v;
+      }
+   }
+
+
+   private static void swap(int[] x, int i, int j) {
+      int t = x[i];
+      x[i] = x[j];
+      x[j] = t;
+   }
+}
@@ -0,0 +1,294 @@
+/**
+* Tracks the kth minimum and kth maximum distinct values of a stream of
+* ints, for a k fixed when the tracker is built.
+*
+* Values arrive one at a time or in batches, and at any moment the
+* tracker reports the same kmin, kmax, min and max that Selector would
+* return for an array holding every value added so far. Memory is
+* bounded by k whatever the length of the stream: the tracker keeps a
+* max-heap of the k smallest distinct values, a min-heap of the k
+* largest, and a hash set beside each heap so that a value already in a
+* heap is not added twice. Each value costs O(log k) at worst and O(1)
+* once it can no longer enter either heap. Within this package a
+* tracker can be built for one direction only (lowOnly, highOnly), which
+* keeps a single heap and set and does half the work per value.
+*
+* @author   Li-Kai Lin
+* @version  2026-10-18
+*
+*/
+public final class KthTracker {
+
+   /** Largest k a tracker accepts; its hash sets hold 4 slots per value. */
+   public static final int MAX_K = 1 << 28;
+
+   private final int k;
+
+   /** the k smallest distinct values, stored as ~v in a min-heap; null if untracked. */
+   private final int[] low;
+   private final IntSet lowSet;
+   private int lowSize;
+
+   /** min-heap of the k largest distinct values; high[0] is kmax; null if untracked. */
+   private final int[] high;
+   private final IntSet highSet;
+   private int highSize;
+
+   private long count;
+   private int min;
+   private int max;
+
+   /**
+    * Builds an empty tracker for the kth minimum and maximum. This
+    * constructor throws IllegalArgumentException if k < 1 or k > MAX_K.
+    */
+   public KthTracker(int k) {
+      this(k, true, true);
+   }
+
+
+   /**
+    * Builds an empty tracker for the kth minimum only; kmax throws
+    * IllegalStateException.
+    */
+   static KthTracker lowOnly(int k) {
+      return new KthTracker(k, true, false);
+   }
+
+
+   /**
+    * Builds an empty tracker for the kth maximum only; kmin throws
+    * IllegalStateException.
+    */
+   static KthTracker highOnly(int k) {
+      return new KthTracker(k, false, true);
+   }
+
+
+   private KthTracker(int k, boolean trackLow, boolean trackHigh) {
+      if (k < 1 || k > MAX_K) {
+         throw new IllegalArgumentException("Error.");
+      }
+      this.k = k;
+      low = trackLow ? new int[k] : null;
+      lowSet = trackLow ? new IntSet(k) : null;
+      high = trackHigh ? new int[k] : null;
+      highSet = trackHigh ? new IntSet(k) : null;
+      count = 0;
+   }
+
+
+   /**
+    * Returns the k this tracker was built for.
+    */
+   public int getK() {
+      return k;
+   }
+
+
+   /**
+    * Returns the number of values added so far, including duplicates.
+    */
+   public long size() {
+      return count;
+   }
+
+
+   /**
+    * Adds one value to the stream.
+    */
+   public void add(int value) {
+      if (count == 0) {
+         min = value;
+         max = value;
+      }
+      else {
+         min = Math.min(min, value);
+         max = Math.max(max, value);
+      }
+      count++;
+
+      //negating with ~ turns the min-heap into a max-heap
+      if (low != null) {
+         lowSize = offer(low, lowSet, ~value, lowSize);
+      }
+      if (high != null) {
+         highSize = offer(high, highSet, value, highSize);
+      }
+   }
+
+
+   /**
+    * Adds every value in values to the stream, in order. This method
+    * throws IllegalArgumentException if values is null.
+    */
+   public void addAll(int[] values) {
+      if (values == null) {
+         throw new IllegalArgumentException("Error.");
+      }
+      for (int i = 0; i < values.length; i++) {
+         add(values[i]);
+      }
+   }
+
+
+   /**
+    * Returns the smallest value added so far. This method throws
+    * IllegalArgumentException if no value has been added.
+    */
+   public int min() {
+      if (count == 0) {
+         throw new IllegalArgumentException("Error.");
+      }
+      return min;
+   }
+
+
+   /**
+    * Returns the largest value added so far. This method throws
+    * IllegalArgumentException if no value has been added.
+    */
+   public int max() {
+      if (count == 0) {
+         throw new IllegalArgumentException("Error.");
+      }
+      return max;
+   }
+
+
+   /**
+    * Returns the kth minimum distinct value added so far. This method
+    * throws IllegalArgumentException if fewer than k distinct values
+    * have been added, exactly when Selector.kmin would.
+    */
+   public int kmin() {
+      if (low == null) {
+         throw new IllegalStateException("Error.");
+      }
+      if (lowSize < k) {
+         throw new IllegalArgumentException("Error.");
+      }
+      return ~low[0];
+   }
+
+
+   /**
+    * Returns the kth maximum distinct value added so far. This method
+    * throws IllegalArgumentException if fewer than k distinct values
+    * have been added, exactly when Selector.kmax would.
+    */
+   public int kmax() {
+      if (high == null) {
+         throw new IllegalStateException("Error.");
+      }
+      if (highSize < k) {
+         throw new IllegalArgumentException("Error.");
+      }
+      return high[0];
+   }
+
+
+   /**
+    * Offers v to the min-heap heap[0..size) that keeps the k largest
+    * distinct values offered, and returns the new size of the heap.
+    */
+   private int offer(int[] heap, IntSet set, int v, int size) {
+      if (size == k && v <= heap[0]) {
+         return size;
+      }
+      if (!set.add(v)) {
+         return size;
+      }
+      if (size < k) {
+         //sift up from the new leaf
+         int i = size;
+         while (i > 0 && heap[(i - 1) >>> 1] > v) {
+            heap[i] = heap[(i - 1) >>> 1];
+            i = (i - 1) >>> 1;
+         }
+         heap[i] = v;
+         return size + 1;
+      }
+      //replace the root and sift down
+      set.remove(heap[0]);
+      int i = 0;
+      while (true) {
+         int child = 2 * i + 1;
+         if (child >= k) {
+            break;
+         }
+         if (child + 1 < k && heap[child + 1] < heap[child]) {
+            child++;
+         }
+         if (heap[child] >= v) {
+            break;
+         }
+         heap[i] = heap[child];
+         i = child;
+      }
+      heap[i] = v;
+      return size;
+   }
+
+
+   /**
+    * Open-addressing hash set of ints with linear probing and
+    * backward-shift deletion, sized for a fixed maximum number of
+    * members.
+    */
+   private static final class IntSet {
+      private final int[] keys;
+      private final boolean[] used;
+      private final int mask;
+
+      IntSet(int maxSize) {
+         // at most half full; maxSize <= MAX_K keeps this within an int
+         int capacity = Integer.highestOneBit(Math.max(1, maxSize)) << 2;
+         keys = new int[capacity];
+         used = new boolean[capacity];
+         mask = capacity - 1;
+      }
+
+      //adds v and returns true, or returns false if v is already present
+      boolean add(int v) {
+         int i = slot(v);
+         while (used[i]) {
+            if (keys[i] == v) {
+               return false;
+            }
+            i = (i + 1) & mask;
+         }
+         keys[i] = v;
+         used[i] = true;
+         return true;
+      }
+
+      void remove(int v) {
+         int i = slot(v);
+         while (keys[i] != v || !used[i]) {
+            i = (i + 1) & mask;
+         }
+         //pull later members of the probe run back over the hole
+         int j = i;
+         while (true) {
+            j = (j + 1) & mask;
+            if (!used[j]) {
+               break;
+            }
+            int home = slot(keys[j]);
+            boolean stays = (i <= j) ? (i < home && home <= j)
+                                     : (i < home || home <= j);
+            if (!stays) {
+               keys[i] = keys[j];
+               i = j;
+            }
+         }
+         used[i] = false;
+      }
+
+      private int slot(int v) {
+         int h = v * 0x9E3779B9;
+         return (h ^ (h >>> 16)) & mask;
+      }
+   }
+}
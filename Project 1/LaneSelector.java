@@ -0,0 +1,153 @@
+/**
+* Lane-wise versions of Selector.min, Selector.max and Selector.range
+* for large arrays of ints.
+*
+* Each method keeps several independent accumulators ("lanes") and
+* uses branch-free comparisons, so the loop body has no data-dependent
+* branches and no single long dependency chain. HotSpot's C2 compiler
+* turns these loops into SIMD code on its own, and even where it does
+* not, the independent lanes keep the scalar pipeline full. The results
+* and exceptions are the same as Selector's.
+*
+* @author   Li-Kai Lin
+* @version  2026-10-18
+*
+*/
+public final class LaneSelector {
+
+   /** number of independent accumulators. */
+   private static final int LANES = 8;
+
+   /**
+    * Can't instantiate this class.
+    */
+   private LaneSelector() { }
+
+
+   /**
+    * Selects the minimum value from the array a. This method
+    * throws IllegalArgumentException if a is null or has zero
+    * length. The array a is not changed by this method.
+    */
+   public static int min(int[] a) {
+      if (a == null || a.length == 0) {
+         throw new IllegalArgumentException("Error.");
+      }
+      int m0 = a[0];
+      int m1 = m0;
+      int m2 = m0;
+      int m3 = m0;
+      int m4 = m0;
+      int m5 = m0;
+      int m6 = m0;
+      int m7 = m0;
+      int i = 0;
+      for (; i <= a.length - LANES; i += LANES) {
+         m0 = Math.min(m0, a[i]);
+         m1 = Math.min(m1, a[i + 1]);
+         m2 = Math.min(m2, a[i + 2]);
+         m3 = Math.min(m3, a[i + 3]);
+         m4 = Math.min(m4, a[i + 4]);
+         m5 = Math.min(m5, a[i + 5]);
+         m6 = Math.min(m6, a[i + 6]);
+         m7 = Math.min(m7, a[i + 7]);
+      }
+      for (; i < a.length; i++) {
+         m0 = Math.min(m0, a[i]);
+      }
+      return Math.min(Math.min(Math.min(m0, m1), Math.min(m2, m3)),
+                      Math.min(Math.min(m4, m5), Math.min(m6, m7)));
+   }
+
+
+   /**
+    * Selects the maximum value from the array a. This method
+    * throws IllegalArgumentException if a is null or has zero
+    * length. The array a is not changed by this method.
+    */
+   public static int max(int[] a) {
+      if (a == null || a.length == 0) {
+         throw new IllegalArgumentException("Error.");
+      }
+      int m0 = a[0];
+      int m1 = m0;
+      int m2 = m0;
+      int m3 = m0;
+      int m4 = m0;
+      int m5 = m0;
+      int m6 = m0;
+      int m7 = m0;
+      int i = 0;
+      for (; i <= a.length - LANES; i += LANES) {
+         m0 = Math.max(m0, a[i]);
+         m1 = Math.max(m1, a[i + 1]);
+         m2 = Math.max(m2, a[i + 2]);
+         m3 = Math.max(m3, a[i + 3]);
+         m4 = Math.max(m4, a[i + 4]);
+         m5 = Math.max(m5, a[i + 5]);
+         m6 = Math.max(m6, a[i + 6]);
+         m7 = Math.max(m7, a[i + 7]);
+      }
+      for (; i < a.length; i++) {
+         m0 = Math.max(m0, a[i]);
+      }
+      return Math.max(Math.max(Math.max(m0, m1), Math.max(m2, m3)),
+                      Math.max(Math.max(m4, m5), Math.max(m6, m7)));
+   }
+
+
+   /**
+    * Returns an array containing all the values in a in the
+    * range [low..high], including duplicate values, in the order they
+    * appear in a. If there are no qualifying values, this method
+    * returns a zero-length array. This method throws an
+    * IllegalArgumentException if a is null or has zero length.
+    * The array a is not changed by this method.
+    *
+    * The first pass counts matches with a branch-free sum; the second
+    * compresses them by always storing and advancing the write index
+    * only on a match.
+    */
+   public static int[] range(int[] a, int low, int high) {
+      if (a == null || a.length == 0) {
+         throw new IllegalArgumentException("Error.");
+      }
+      if (low > high) {
+         return new int[0];
+      }
+      // low <= v <= high  <=>  (v - low) <= (high - low) as unsigned ints;
+      // adding MIN_VALUE turns that unsigned test into a signed one
+      int width = (high - low) + Integer.MIN_VALUE;
+      int c0 = 0;
+      int c1 = 0;
+      int c2 = 0;
+      int c3 = 0;
+      int i = 0;
+      for (; i <= a.length - 4; i += 4) {
+         c0 += ((a[i] - low) + Integer.MIN_VALUE <= width) ? 1 : 0;
+         c1 += ((a[i + 1] - low) + Integer.MIN_VALUE <= width) ? 1 : 0;
+         c2 += ((a[i + 2] - low) + Integer.MIN_VALUE <= width) ? 1 : 0;
+         c3 += ((a[i + 3] - low) + Integer.MIN_VALUE <= width) ? 1 : 0;
+      }
+      for (; i < a.length; i++) {
+         c0 += ((a[i] - low) + Integer.MIN_VALUE <= width) ? 1 : 0;
+      }
+      int count = c0 + c1 + c2 + c3;
+
+      int[] b = new int[count];
+      if (count == 0) {
+         return b;
+      }
+      int j = 0;
+      for (i = 0; i < a.length; i++) {
+         int v = a[i];
+         // a non-matching value is overwritten by the next store
+         b[j] = v;
+         j += ((v - low) + Integer.MIN_VALUE <= width) ? 1 : 0;
+         if (j == count) {
+            break;
+         }
+      }
+      return b;
+   }
+}
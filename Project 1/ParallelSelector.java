@@ -0,0 +1,507 @@
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
+
+/**
+* Fork/join versions of the Selector methods for very large arrays of
+* ints.
+*
+* The array is cut into chunks; each chunk is reduced on its own by a
+* fork/join task and the per-chunk results are then combined. Arrays
+* shorter than the threshold are handed to the sequential code, so small
+* inputs pay nothing for the parallel machinery. Every method returns
+* the same value and throws the same exceptions as its Selector
+* counterpart.
+*
+* @author   Li-Kai Lin
+* @version  2026-10-18
+*
+*/
+public final class ParallelSelector {
+
+   /** default length below which the sequential code is used. */
+   public static final int DEFAULT_THRESHOLD = 1 << 16;
+
+   /** number of buckets used by the kth selection histograms. */
+   private static final int BUCKETS = 1 << 16;
+
+   private static final long NO_CEILING = Long.MAX_VALUE;
+   private static final long NO_FLOOR = Long.MIN_VALUE;
+
+   private final int threshold;
+   private final ForkJoinPool pool;
+
+   /**
+    * Builds a selector that uses the common pool and the default
+    * threshold.
+    */
+   public ParallelSelector() {
+      this(DEFAULT_THRESHOLD);
+   }
+
+   /**
+    * Builds a selector that uses the common pool and goes parallel for
+    * arrays of at least threshold values. This constructor throws
+    * IllegalArgumentException if threshold < 1.
+    */
+   public ParallelSelector(int threshold) {
+      this(threshold, ForkJoinPool.commonPool());
+   }
+
+   /**
+    * Builds a selector that runs its tasks in pool and goes parallel
+    * for arrays of at least threshold values. This constructor throws
+    * IllegalArgumentException if threshold < 1 or pool is null.
+    */
+   public ParallelSelector(int threshold, ForkJoinPool pool) {
+      if (threshold < 1 || pool == null) {
+         throw new IllegalArgumentException("Error.");
+      }
+      this.threshold = threshold;
+      this.pool = pool;
+   }
+
+
+   /**
+    * Returns the length at which this selector starts to go parallel.
+    */
+   public int getThreshold() {
+      return threshold;
+   }
+
+
+   /**
+    * Same as Selector.min.
+    */
+   public int min(int[] a) {
+      if (a == null || a.length < threshold) {
+         return LaneSelector.min(a);
+      }
+      return (int) reduce(a, Reduce.MIN, 0);
+   }
+
+
+   /**
+    * Same as Selector.max.
+    */
+   public int max(int[] a) {
+      if (a == null || a.length < threshold) {
+         return LaneSelector.max(a);
+      }
+      return (int) reduce(a, Reduce.MAX, 0);
+   }
+
+
+   /**
+    * Same as Selector.ceiling.
+    */
+   public int ceiling(int[] a, int key) {
+      if (a == null || a.length < threshold) {
+         return Selector.ceiling(a, key);
+      }
+      long c = reduce(a, Reduce.CEILING, key);
+      if (c == NO_CEILING) {
+         throw new IllegalArgumentException("Error.");
+      }
+      return (int) c;
+   }
+
+
+   /**
+    * Same as Selector.floor.
+    */
+   public int floor(int[] a, int key) {
+      if (a == null || a.length < threshold) {
+         return Selector.floor(a, key);
+      }
+      long f = reduce(a, Reduce.FLOOR, key);
+      if (f == NO_FLOOR) {
+         throw new IllegalArgumentException("Error.");
+      }
+      return (int) f;
+   }
+
+
+   /**
+    * Same as Selector.range. The values keep the order they have in a.
+    */
+   public int[] range(int[] a, int low, int high) {
+      if (a == null || a.length < threshold) {
+         return Selector.range(a, low, high);
+      }
+      int chunk = chunkSize(a.length);
+      int chunks = (a.length + chunk - 1) / chunk;
+      int[][] parts = new int[chunks][];
+      pool.invoke(new RangeTask(a, low, high, chunk, parts, 0, chunks));
+
+      int total = 0;
+      for (int[] part : parts) {
+         total += part.length;
+      }
+      int[] b = new int[total];
+      int j = 0;
+      for (int[] part : parts) {
+         System.arraycopy(part, 0, b, j, part.length);
+         j += part.length;
+      }
+      return b;
+   }
+
+
+   /**
+    * Same as Selector.kmin.
+    */
+   public int kmin(int[] a, int k) {
+      if (a == null || a.length < threshold) {
+         return Selector.kmin(a, k);
+      }
+      if (k < 1 || k > a.length) {
+         throw new IllegalArgumentException("Error.");
+      }
+      return new Histogram(a).kth(k, false);
+   }
+
+
+   /**
+    * Same as Selector.kmax.
+    */
+   public int kmax(int[] a, int k) {
+      if (a == null || a.length < threshold) {
+         return Selector.kmax(a, k);
+      }
+      if (k < 1 || k > a.length) {
+         throw new IllegalArgumentException("Error.");
+      }
+      return new Histogram(a).kth(k, true);
+   }
+
+
+   //the reduction kinds handled by ReduceTask
+   private enum Reduce { MIN, MAX, CEILING, FLOOR }
+
+
+   private long reduce(int[] a, Reduce op, int key) {
+      return pool.invoke(new ReduceTask(a, op, key, chunkSize(a.length), 0, a.length));
+   }
+
+
+   //at least threshold values per chunk, and about four chunks per worker
+   private int chunkSize(int n) {
+      long perWorker = ((long) n + 4L * pool.getParallelism() - 1)
+                       / (4L * pool.getParallelism());
+      return (int) Math.max(threshold, perWorker);
+   }
+
+
+   /**
+    * Reduces a[from..to) to one long: the min, the max, the ceiling of
+    * key (NO_CEILING if none) or the floor of key (NO_FLOOR if none).
+    */
+   private static final class ReduceTask extends RecursiveTask<Long> {
+      private static final long serialVersionUID = 1L;
+      private final int[] a;
+      private final Reduce op;
+      private final int key;
+      private final int chunk;
+      private final int from;
+      private final int to;
+
+      ReduceTask(int[] a, Reduce op, int key, int chunk, int from, int to) {
+         this.a = a;
+         this.op = op;
+         this.key = key;
+         this.chunk = chunk;
+         this.from = from;
+         this.to = to;
+      }
+
+      @Override
+      protected Long compute() {
+         if (to - from <= chunk) {
+            return leaf();
+         }
+         int mid = (from + to) >>> 1;
+         ReduceTask left = new ReduceTask(a, op, key, chunk, from, mid);
+         ReduceTask right = new ReduceTask(a, op, key, chunk, mid, to);
+         left.fork();
+         long r = right.compute();
+         long l = left.join();
+         switch (op) {
+            case MIN:
+            case CEILING:
+               return Math.min(l, r);
+            default:
+               return Math.max(l, r);
+         }
+      }
+
+      private long leaf() {
+         long best;
+         switch (op) {
+            case MIN:
+               best = a[from];
+               for (int i = from + 1; i < to; i++) {
+                  best = Math.min(best, a[i]);
+               }
+               return best;
+            case MAX:
+               best = a[from];
+               for (int i = from + 1; i < to; i++) {
+                  best = Math.max(best, a[i]);
+               }
+               return best;
+            case CEILING:
+               best = NO_CEILING;
+               for (int i = from; i < to; i++) {
+                  if (a[i] >= key && a[i] < best) {
+                     best = a[i];
+                  }
+               }
+               return best;
+            default:
+               best = NO_FLOOR;
+               for (int i = from; i < to; i++) {
+                  if (a[i] <= key && a[i] > best) {
+                     best = a[i];
+                  }
+               }
+               return best;
+         }
+      }
+   }
+
+
+   /**
+    * Fills parts[c] with the values of chunk c that lie in [low..high],
+    * for every chunk c in [fromChunk, toChunk).
+    */
+   private static final class RangeTask extends RecursiveAction {
+      private static final long serialVersionUID = 1L;
+      private final int[] a;
+      private final int low;
+      private final int high;
+      private final int chunk;
+      private final int[][] parts;
+      private final int fromChunk;
+      private final int toChunk;
+
+      RangeTask(int[] a, int low, int high, int chunk, int[][] parts,
+                int fromChunk, int toChunk) {
+         this.a = a;
+         this.low = low;
+         this.high = high;
+         this.chunk = chunk;
+         this.parts = parts;
+         this.fromChunk = fromChunk;
+         this.toChunk = toChunk;
+      }
+
+      @Override
+      protected void compute() {
+         if (toChunk - fromChunk > 1) {
+            int mid = (fromChunk + toChunk) >>> 1;
+            invokeAll(new RangeTask(a, low, high, chunk, parts, fromChunk, mid),
+                      new RangeTask(a, low, high, chunk, parts, mid, toChunk));
+            return;
+         }
+         int from = fromChunk * chunk;
+         int to = Math.min(a.length, from + chunk);
+         GrowableIntArray local = new GrowableIntArray();
+         for (int i = from; i < to; i++) {
+            if (a[i] <= high && a[i] >= low) {
+               local.add(a[i]);
+            }
+         }
+         parts[fromChunk] = local.toArray();
+      }
+   }
+
+
+   /**
+    * Distinct kth selection built on per-chunk histograms. Values are
+    * bucketed by their top 16 significant bits above the minimum, so
+    * the buckets cover [min..max] evenly whatever the value span. The
+    * chunks are counted in parallel, the counts give every chunk its own
+    * output slots in each bucket, and the values are scattered into
+    * bucket order in parallel. Then every bucket is sorted and its
+    * distinct values counted, in parallel; counting distinct values
+    * needs the sort, so the whole array is sorted piecewise, in
+    * O(n log(n / BUCKETS)) total work on evenly spread values. With the
+    * counts known, the kth distinct value is read from its one bucket.
+    */
+   private final class Histogram {
+      private final int[] a;
+      private final int chunk;
+      private final int chunks;
+      /** values of a in bucket order; sorted within each bucket. */
+      private final int[] scratch;
+      /** bucket b occupies scratch[bucketStart[b]..bucketStart[b + 1]). */
+      private final int[] bucketStart;
+      /** number of distinct values in each bucket. */
+      private final int[] distinct;
+      private final long base;
+      private final int shift;
+
+      Histogram(int[] a) {
+         this.a = a;
+         this.chunk = chunkSize(a.length);
+         this.chunks = (a.length + chunk - 1) / chunk;
+         this.scratch = new int[a.length];
+         this.bucketStart = new int[BUCKETS + 1];
+         this.distinct = new int[BUCKETS];
+         this.base = reduce(a, Reduce.MIN, 0);
+         long span = reduce(a, Reduce.MAX, 0) - base;
+         this.shift = Math.max(0, 48 - Long.numberOfLeadingZeros(span));
+
+         int[][] counts = new int[chunks][];
+         pool.invoke(new CountTask(counts, 0, chunks));
+
+         //turn the per-chunk counts into per-chunk write offsets
+         int next = 0;
+         for (int b = 0; b < BUCKETS; b++) {
+            bucketStart[b] = next;
+            for (int c = 0; c < chunks; c++) {
+               int n = counts[c][b];
+               counts[c][b] = next;
+               next += n;
+            }
+         }
+         bucketStart[BUCKETS] = next;
+
+         pool.invoke(new ScatterTask(counts, 0, chunks));
+         pool.invoke(new SortTask(0, BUCKETS));
+      }
+
+      //find the kth smallest (or largest) distinct value
+      int kth(int k, boolean fromTop) {
+         int total = 0;
+         for (int b = 0; b < BUCKETS; b++) {
+            total += distinct[b];
+         }
+         if (k > total) {
+            throw new IllegalArgumentException("Error.");
+         }
+         int rank = fromTop ? total - k + 1 : k;
+         int b = 0;
+         while (rank > distinct[b]) {
+            rank -= distinct[b];
+            b++;
+         }
+         int i = bucketStart[b];
+         int seen = 1;
+         while (seen < rank) {
+            i++;
+            if (scratch[i] != scratch[i - 1]) {
+               seen++;
+            }
+         }
+         return scratch[i];
+      }
+
+      //bucket of v; bucket order is value order
+      private int bucket(int v) {
+         return (int) ((v - base) >>> shift);
+      }
+
+      private final class CountTask extends RecursiveAction {
+         private static final long serialVersionUID = 1L;
+         private final int[][] counts;
+         private final int fromChunk;
+         private final int toChunk;
+
+         CountTask(int[][] counts, int fromChunk, int toChunk) {
+            this.counts = counts;
+            this.fromChunk = fromChunk;
+            this.toChunk = toChunk;
+         }
+
+         @Override
+         protected void compute() {
+            if (toChunk - fromChunk > 1) {
+               int mid = (fromChunk + toChunk) >>> 1;
+               invokeAll(new CountTask(counts, fromChunk, mid),
+                         new CountTask(counts, mid, toChunk));
+               return;
+            }
+            int[] h = new int[BUCKETS];
+            int to = Math.min(a.length, (fromChunk + 1) * chunk);
+            for (int i = fromChunk * chunk; i < to; i++) {
+               h[bucket(a[i])]++;
+            }
+            counts[fromChunk] = h;
+         }
+      }
+
+      private final class ScatterTask extends RecursiveAction {
+         private static final long serialVersionUID = 1L;
+         private final int[][] offsets;
+         private final int fromChunk;
+         private final int toChunk;
+
+         ScatterTask(int[][] offsets, int fromChunk, int toChunk) {
+            this.offsets = offsets;
+            this.fromChunk = fromChunk;
+            this.toChunk = toChunk;
+         }
+
+         @Override
+         protected void compute() {
+            if (toChunk - fromChunk > 1) {
+               int mid = (fromChunk + toChunk) >>> 1;
+               invokeAll(new ScatterTask(offsets, fromChunk, mid),
+                         new ScatterTask(offsets, mid, toChunk));
+               return;
+            }
+            int[] at = offsets[fromChunk];
+            int to = Math.min(a.length, (fromChunk + 1) * chunk);
+            for (int i = fromChunk * chunk; i < to; i++) {
+               int b = bucket(a[i]);
+               scratch[at[b]] = a[i];
+               at[b]++;
+            }
+         }
+      }
+
+      private final class SortTask extends RecursiveAction {
+         private static final long serialVersionUID = 1L;
+         private final int fromBucket;
+         private final int toBucket;
+
+         SortTask(int fromBucket, int toBucket) {
+            this.fromBucket = fromBucket;
+            this.toBucket = toBucket;
+         }
+
+         @Override
+         protected void compute() {
+            int size = bucketStart[toBucket] - bucketStart[fromBucket];
+            if (toBucket - fromBucket > 1 && size > threshold) {
+               int mid = (fromBucket + toBucket) >>> 1;
+               invokeAll(new SortTask(fromBucket, mid), new SortTask(mid, toBucket));
+               return;
+            }
+            for (int b = fromBucket; b < toBucket; b++) {
+               int from = bucketStart[b];
+               int to = bucketStart[b + 1];
+               if (from == to) {
+                  continue;
+               }
+               if (to - from > threshold) {
+                  Arrays.parallelSort(scratch, from, to);
+               }
+               else {
+                  Arrays.sort(scratch, from, to);
+               }
+               int d = 1;
+               for (int i = from + 1; i < to; i++) {
+                  if (scratch[i] != scratch[i - 1]) {
+                     d++;
+                  }
+               }
+               distinct[b] = d;
+            }
+         }
+      }
+   }
+}
@@ -10,6 +10,18 @@ import java.util.Arrays;
 */
 public final class Selector {
 
+   /** one selector per thread, so kmin and kmax reuse its scratch buffer. */
+   private static final ThreadLocal<KthSelector> KTH =
+      ThreadLocal.withInitial(KthSelector::new);
+
+   /**
+    * Longest array served by the per-thread selector, which keeps a
+    * scratch buffer of about 4/3 this many ints for the life of the
+    * thread. Longer arrays get a selector of their own, dropped after
+    * the call.
+    */
+   private static final int SHARED_LIMIT = 1 << 16;
+
    /**
     * Can't instantiate this class.
     *
@@ -70,50 +82,7 @@ public final class Selector {
     * changed by this method.
     */
    public static int kmin(int[] a, int k) {
-      if (a == null || a.length == 0) {
-         throw new IllegalArgumentException("Error.");   
-      }
-      if (k < 1 || k > a.length) {
-         throw new IllegalArgumentException("Error.");   
-      }
-      
-      //duplicate a new array dArray
-      int[] dArray = new int[a.length];
-   
-      for (int i = 0; i < a.length; i++) {
-         dArray[i] = a[i];  
-      }
-      //sort the elements in the array (small to large)
-      Arrays.sort(dArray);
-      
-   
-      // calculate the number of the elements
-      // without repeat.
-      int realLength = 1;
-      for (int i = 0; i < dArray.length - 1; i++) {
-         if (dArray[i] != dArray[i + 1]) {
-            realLength++;
-         } 
-      }
-      
-      //copy unrepeated elements to a new array
-      //rArray
-      
-      int[] rArray = new int[realLength];
-      int rIndex = 0;
-      rArray[0] = dArray[0];
-      for (int i = 1; i < dArray.length; i++) {
-         if (dArray[i] != dArray[i - 1]) {
-            rIndex++;
-            rArray[rIndex] = dArray[i];
-            
-         } 
-      }
-      if (k > rArray.length) {
-         throw new IllegalArgumentException("Error.");   
-      }
-      return rArray[k - 1];
-   
+      return selector(a).kmin(a, k);
    }
 
 
@@ -126,57 +95,16 @@ public final class Selector {
     * changed by this method.
     */
    public static int kmax(int[] a, int k) {
-      if (a == null || a.length == 0) {
-         throw new IllegalArgumentException("Error.");   
-      }
-      if (k < 1 || k > a.length) {
-         throw new IllegalArgumentException("Error.");   
-      }
-      
-      //duplicate a new array dArray
-      int[] dArray = new int[a.length];
-   
-      for (int i = 0; i < a.length; i++) {
-         dArray[i] = a[i];  
-      }
-      //sort the elements in the array (small to large)
-      Arrays.sort(dArray);
-      
-      //reverse the array in descending and save it
-      // in another array eArray
-      int[] eArray = new int[a.length];
-      int dIndex = 0;
-      for (int i = a.length - 1; i >= 0 ; i--) {
-         eArray[dIndex] = dArray[i]; 
-         dIndex++; 
-      }
-      
-      // calculate the number of the elements
-      // without repeat.
-      int realLength = 1;
-      for (int i = 0; i < eArray.length - 1; i++) {
-         if (eArray[i] != eArray[i + 1]) {
-            realLength++;
-         } 
-      }
-      
-      //copy unrepeated elements to a new array
-      //rArray
-      
-      int[] rArray = new int[realLength];
-      int rIndex = 0;
-      rArray[0] = eArray[0];
-      for (int i = 1; i < eArray.length; i++) {
-         if (eArray[i] != eArray[i - 1]) {
-            rIndex++;
-            rArray[rIndex] = eArray[i];
-            
-         } 
-      }
-      if (k > rArray.length) {
-         throw new IllegalArgumentException("Error.");   
+      return selector(a).kmax(a, k);
+   }
+
+
+   //the per-thread selector for short arrays, a fresh one otherwise
+   private static KthSelector selector(int[] a) {
+      if (a != null && a.length > SHARED_LIMIT) {
+         return new KthSelector();
       }
-      return rArray[k - 1];
+      return KTH.get();
    }
 
 
@@ -215,6 +143,30 @@ public final class Selector {
    }
 
 
+   /**
+    * Appends to out all the values in a in the range [low..high], in
+    * the order they appear in a and including duplicate values, and
+    * returns the number of values appended. Unlike range(a, low, high)
+    * this makes a single pass over a and allocates nothing once out is
+    * large enough, so one buffer can be reused across calls. This
+    * method throws an IllegalArgumentException if a is null or has
+    * zero length, or if out is null. The array a is not changed by
+    * this method.
+    */
+   public static int range(int[] a, int low, int high, GrowableIntArray out) {
+      if (a == null || a.length == 0 || out == null) {
+         throw new IllegalArgumentException("Error.");   
+      }
+      int before = out.size();
+      for (int i = 0; i < a.length; i++) {
+         if (a[i] <= high && a[i] >= low) {
+            out.add(a[i]);
+         }
+      }
+      return out.size() - before;
+   }
+
+
    /**
     * Returns the smallest value in a that is greater than or equal to
     * the given key. This method throws an IllegalArgumentException if
@@ -226,25 +178,16 @@ public final class Selector {
       if (a == null || a.length == 0) {
          throw new IllegalArgumentException("Error.");   
       }         
-      int count = 0;
+      boolean found = false;
       int cLing = 0;
       for (int i = 0; i < a.length; i++) {
-         if (a[i] >= key) {
+         if (a[i] >= key && (!found || a[i] < cLing)) {
             cLing = a[i];
-            count++;
+            found = true;
          }
-         else {
-            continue;
-         }       
       }
       
-      for (int i = 0; i < a.length; i++) {
-         if ( a[i] >= key && a[i] <= cLing) {
-            cLing = a[i];
-         } 
-      }
-      
-      if (count == 0) {
+      if (!found) {
          throw new IllegalArgumentException("Error.");   
       }         
                
@@ -263,30 +206,126 @@ public final class Selector {
       if (a == null || a.length == 0) {
          throw new IllegalArgumentException("Error.");   
       }         
-      int count = 0;
+      boolean found = false;
       int fl = 0;
       for (int i = 0; i < a.length; i++) {
-         if (a[i] <= key) {
+         if (a[i] <= key && (!found || a[i] > fl)) {
             fl = a[i];
-            count++;
+            found = true;
          }
-         else {
-            continue;
-         }       
-      }
-      
-      for (int i = 0; i < a.length; i++) {
-         if ( a[i] >= fl && a[i] <= key) {
-            fl = a[i];
-         } 
       }
       
-      if (count == 0) {
+      if (!found) {
          throw new IllegalArgumentException("Error.");   
       }         
                
       return fl;
    }
-   
+
+
+   /**
+    * Returns the ceiling and the floor of every key in keys. The result
+    * r has two rows of length keys.length: r[0][j] is ceiling(a, keys[j])
+    * and r[1][j] is floor(a, keys[j]). A key with no ceiling in a gets
+    * Integer.MAX_VALUE and a key with no floor gets Integer.MIN_VALUE;
+    * use the four-argument form to tell these apart from real answers.
+    * This method throws an IllegalArgumentException if a is null or has
+    * zero length, or if keys is null. Neither a nor keys is changed by
+    * this method.
+    */
+   public static int[][] ceilingFloor(int[] a, int[] keys) {
+      if (keys == null) {
+         throw new IllegalArgumentException("Error.");   
+      }
+      return ceilingFloor(a, keys, new boolean[keys.length], new boolean[keys.length]);
+   }
+
+
+   /**
+    * Returns the ceiling and the floor of every key in keys, as the
+    * two-argument form does, and sets hasCeiling[j] and hasFloor[j] to
+    * whether keys[j] has a ceiling and a floor in a. A key without one
+    * does not make the whole batch fail. This method throws an
+    * IllegalArgumentException if a is null or has zero length, or if
+    * keys, hasCeiling or hasFloor is null or the flag arrays are not as
+    * long as keys. Neither a nor keys is changed by this method.
+    *
+    * The keys are sorted once and each value of a is placed among them
+    * by binary search, so this takes O((n + m) log m) time for n values
+    * and m keys.
+    */
+   public static int[][] ceilingFloor(int[] a, int[] keys,
+                                      boolean[] hasCeiling, boolean[] hasFloor) {
+      if (a == null || a.length == 0 || keys == null
+          || hasCeiling == null || hasCeiling.length != keys.length
+          || hasFloor == null || hasFloor.length != keys.length) {
+         throw new IllegalArgumentException("Error.");   
+      }
+      int m = keys.length;
+      
+      //sort the keys, remembering where each came from
+      long[] order = new long[m];
+      for (int j = 0; j < m; j++) {
+         order[j] = ((long) keys[j] << 32) | j;
+      }
+      Arrays.sort(order);
+      int[] sorted = new int[m];
+      int[] rank = new int[m];
+      int u = 0;
+      for (int j = 0; j < m; j++) {
+         int key = (int) (order[j] >> 32);
+         if (u == 0 || sorted[u - 1] != key) {
+            sorted[u] = key;
+            u++;
+         }
+         rank[(int) order[j]] = u - 1;
+      }
+      
+      // each value of a lands between two adjacent sorted keys; keep the
+      // smallest value landing at or above each key and the largest
+      // landing at or below it
+      int[] cLing = new int[u];
+      int[] fl = new int[u];
+      boolean[] cFound = new boolean[u];
+      boolean[] fFound = new boolean[u];
+      for (int i = 0; i < a.length; i++) {
+         int v = a[i];
+         int at = Arrays.binarySearch(sorted, 0, u, v);
+         int up = (at >= 0) ? at : -at - 2;
+         int down = (at >= 0) ? at : -at - 1;
+         if (up >= 0 && (!cFound[up] || v < cLing[up])) {
+            cLing[up] = v;
+            cFound[up] = true;
+         }
+         if (down < u && (!fFound[down] || v > fl[down])) {
+            fl[down] = v;
+            fFound[down] = true;
+         }
+      }
+      
+      //a key with nothing landing on it takes the answer of its neighbour
+      for (int i = u - 2; i >= 0; i--) {
+         if (!cFound[i] && cFound[i + 1]) {
+            cLing[i] = cLing[i + 1];
+            cFound[i] = true;
+         }
+      }
+      for (int i = 1; i < u; i++) {
+         if (!fFound[i] && fFound[i - 1]) {
+            fl[i] = fl[i - 1];
+            fFound[i] = true;
+         }
+      }
+      
+      int[][] result = new int[2][m];
+      for (int j = 0; j < m; j++) {
+         int r = rank[j];
+         hasCeiling[j] = cFound[r];
+         hasFloor[j] = fFound[r];
+         result[0][j] = cFound[r] ? cLing[r] : Integer.MAX_VALUE;
+         result[1][j] = fFound[r] ? fl[r] : Integer.MIN_VALUE;
+      }
+      return result;
+   }
 
 }
@@ -0,0 +1,162 @@
+import java.lang.management.ManagementFactory;
+import java.util.Random;
+
+/**
+* SelectorBenchmark.java. Measures the selection methods of Selector and
+* of the classes built around it (LaneSelector, KthSelector,
+* IntSelectorIndex, ParallelSelector) over several input sizes, value
+* distributions and values of k.
+*
+* For every case the harness warms the code up, then runs it repeatedly
+* for a fixed time and prints the throughput, the average time per call
+* and the bytes allocated per call by the calling thread. Run it with
+*
+*    javac *.java && java SelectorBenchmark [maxSize] [millisPerCase]
+*
+* Sizes go from 1e3 up to maxSize (default 1e6; 1e8 needs about 2GB of
+* heap, e.g. java -Xmx4g). Work done on fork/join worker threads is timed
+* but its allocation is not counted.
+*
+* @author   Li-Kai Lin
+* @version  2026-10-18
+*
+*/
+public final class SelectorBenchmark {
+
+   /** value distributions of the generated arrays. */
+   private enum Distribution { UNIFORM, DUPLICATES, SORTED, REVERSED }
+
+   private static final int[] KS = {1, 10, 1000};
+
+   /** keeps results live so the JIT cannot drop the work. */
+   private static volatile long sink;
+
+   private static long millisPerCase = 500;
+
+   /**
+    * Can't instantiate this class.
+    */
+   private SelectorBenchmark() { }
+
+   /**
+    * Drives execution.
+    */
+   public static void main(String[] args) {
+      int maxSize = (args.length > 0) ? (int) Double.parseDouble(args[0]) : 1_000_000;
+      if (args.length > 1) {
+         millisPerCase = Long.parseLong(args[1]);
+      }
+
+      System.out.printf("%-24s %-10s %10s %6s %14s %14s %14s%n",
+                        "method", "dist", "n", "k", "ops/s", "ns/op", "B/op");
+      for (int n = 1000; n <= maxSize; n *= 10) {
+         for (Distribution dist : Distribution.values()) {
+            run(generate(n, dist), dist);
+         }
+      }
+   }
+
+   private static void run(int[] a, Distribution dist) {
+      int n = a.length;
+      Random random = new Random(n);
+      int key = a[random.nextInt(n)];
+      int low = Math.min(key, a[random.nextInt(n)]);
+      int high = Math.max(key, a[random.nextInt(n)]);
+      KthSelector kth = new KthSelector();
+      ParallelSelector parallel = new ParallelSelector();
+      GrowableIntArray buffer = new GrowableIntArray();
+
+      report("Selector.min", dist, n, 0, () -> Selector.min(a));
+      report("LaneSelector.min", dist, n, 0, () -> LaneSelector.min(a));
+      report("ParallelSelector.min", dist, n, 0, () -> parallel.min(a));
+      report("Selector.max", dist, n, 0, () -> Selector.max(a));
+      report("LaneSelector.max", dist, n, 0, () -> LaneSelector.max(a));
+      report("ParallelSelector.max", dist, n, 0, () -> parallel.max(a));
+      report("Selector.range", dist, n, 0, () -> Selector.range(a, low, high).length);
+      report("Selector.range(buffer)", dist, n, 0, () -> {
+            buffer.clear();
+            return Selector.range(a, low, high, buffer);
+         });
+      report("LaneSelector.range", dist, n, 0, () -> LaneSelector.range(a, low, high).length);
+      report("ParallelSelector.range", dist, n, 0, () -> parallel.range(a, low, high).length);
+      report("Selector.ceiling", dist, n, 0, () -> Selector.ceiling(a, key));
+      report("Selector.floor", dist, n, 0, () -> Selector.floor(a, key));
+
+      IntSelectorIndex index = new IntSelectorIndex(a);
+      report("IntSelectorIndex.ceiling", dist, n, 0, () -> index.ceiling(key));
+      report("IntSelectorIndex.range", dist, n, 0, () -> index.range(low, high).remaining());
+
+      for (int k : KS) {
+         if (k > index.distinctCount()) {
+            continue;
+         }
+         report("Selector.kmin", dist, n, k, () -> Selector.kmin(a, k));
+         report("Selector.kmax", dist, n, k, () -> Selector.kmax(a, k));
+         report("KthSelector.kmin", dist, n, k, () -> kth.kmin(a, k));
+         report("ParallelSelector.kmin", dist, n, k, () -> parallel.kmin(a, k));
+         report("IntSelectorIndex.kmin", dist, n, k, () -> index.kmin(k));
+      }
+   }
+
+   /** A benchmarked call; returns something derived from its result. */
+   private interface Op {
+      long run();
+   }
+
+   private static void report(String name, Distribution dist, int n, int k, Op op) {
+      //warm up for half the measuring time
+      long end = System.nanoTime() + millisPerCase * 500_000L;
+      while (System.nanoTime() < end) {
+         sink += op.run();
+      }
+
+      long bytes = allocatedBytes();
+      long start = System.nanoTime();
+      end = start + millisPerCase * 1_000_000L;
+      long calls = 0;
+      long now;
+      do {
+         sink += op.run();
+         calls++;
+         now = System.nanoTime();
+      } while (now < end);
+      bytes = allocatedBytes() - bytes;
+
+      double nanosPerCall = (double) (now - start) / calls;
+      System.out.printf("%-24s %-10s %10d %6s %14.1f %14.1f %14d%n",
+                        name, dist, n, (k == 0) ? "-" : String.valueOf(k),
+                        1e9 / nanosPerCall, nanosPerCall, bytes / calls);
+   }
+
+   //bytes allocated so far by this thread, or 0 if the JVM cannot tell
+   private static long allocatedBytes() {
+      java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+      if (bean instanceof com.sun.management.ThreadMXBean) {
+         return ((com.sun.management.ThreadMXBean) bean)
+                   .getThreadAllocatedBytes(Thread.currentThread().getId());
+      }
+      return 0;
+   }
+
+   private static int[] generate(int n, Distribution dist) {
+      Random random = new Random(42);
+      int[] a = new int[n];
+      for (int i = 0; i < n; i++) {
+         switch (dist) {
+            case DUPLICATES:
+               a[i] = random.nextInt(Math.max(16, n / 1000));
+               break;
+            case SORTED:
+               a[i] = i;
+               break;
+            case REVERSED:
+               a[i] = n - i;
+               break;
+            default:
+               a[i] = random.nextInt();
+               break;
+         }
+      }
+      return a;
+   }
+}
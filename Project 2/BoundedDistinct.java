@@ -0,0 +1,106 @@
+import java.util.Arrays;
+import java.util.Comparator;
+
+/**
+ * Keeps the k smallest distinct elements offered to it, by a given
+ * comparator, in a sorted array of at most k slots. Elements that
+ * compare equal are one distinct value; the buffer holds a single
+ * representative of each, either the first or the last one offered.
+ *
+ * Used by Selector for kmin and kmax with small k, where it replaces a
+ * full sort of the collection with O(n log k) comparisons and O(k) space.
+ *
+ * @author  Li-Kai Lin
+ *
+ */
+final class BoundedDistinct<T> {
+
+   private final int k;
+   private final Comparator<T> comp;
+   private final boolean keepLast;
+   private Object[] best;
+   private int size;
+
+   /**
+    * Builds an empty buffer for the k smallest distinct elements by
+    * comp. If keepLast is true, a later element that compares equal to
+    * a kept one replaces it; otherwise the first one offered is kept.
+    */
+   BoundedDistinct(int k, Comparator<T> comp, boolean keepLast) {
+      this.k = k;
+      this.comp = comp;
+      this.keepLast = keepLast;
+      this.best = new Object[Math.min(k, 16)];
+      this.size = 0;
+   }
+
+
+   /** Returns the number of distinct elements held, at most k. */
+   int size() {
+      return size;
+   }
+
+
+   /** Returns the (i+1)th smallest distinct element held. */
+   @SuppressWarnings("unchecked")
+   T get(int i) {
+      return (T) best[i];
+   }
+
+
+   /** Offers every element held by other, in its sorted order. */
+   void offerAll(BoundedDistinct<T> other) {
+      for (int i = 0; i < other.size; i++) {
+         offer(other.get(i));
+      }
+   }
+
+
+   /** Offers t to the buffer. */
+   void offer(T t) {
+      //most elements lose to the current kth and stop here
+      if (size == k && comp.compare(t, get(k - 1)) > 0) {
+         return;
+      }
+      int at = search(t);
+      if (at >= 0) {
+         if (keepLast) {
+            best[at] = t;
+         }
+         return;
+      }
+      at = -at - 1;
+      if (at == k) {
+         return;
+      }
+      if (size < k) {
+         if (size == best.length) {
+            best = Arrays.copyOf(best, (int) Math.min(k, 2L * size));
+         }
+         size++;
+      }
+      System.arraycopy(best, at, best, at + 1, size - 1 - at);
+      best[at] = t;
+   }
+
+
+   //binary search; same return convention as Arrays.binarySearch
+   private int search(T t) {
+      int lo = 0;
+      int hi = size - 1;
+      while (lo <= hi) {
+         int mid = (lo + hi) >>> 1;
+         int c = comp.compare(get(mid), t);
+         if (c < 0) {
+            lo = mid + 1;
+         }
+         else if (c > 0) {
+            hi = mid - 1;
+         }
+         else {
+            return mid;
+         }
+      }
+      return -(lo + 1);
+   }
+}
@@ -0,0 +1,337 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Parallel versions of the Selector methods for very large collections.
+ *
+ * The collection is split with its own Spliterator, each piece is
+ * reduced by a fork/join task, and the partial results are combined in
+ * encounter order. Collections whose spliterator reports an exact size
+ * below the threshold go straight to Selector. Every method returns the
+ * same element and throws the same exceptions as its Selector
+ * counterpart, including which element wins a tie, as long as the
+ * collection's spliterator splits off prefixes of its iteration order
+ * (true of every java.util and java.util.concurrent collection).
+ * Collections whose spliterator is not SUBSIZED are copied into an
+ * array first, so that they split evenly.
+ * min, max and range on a NavigableSet ordered by the comparator also
+ * go to Selector, which answers them from the set's own navigation in
+ * O(log n) rather than by a full scan.
+ *
+ * @author  Li-Kai Lin
+ *
+ */
+public final class ParallelSelector {
+
+   /** default number of elements below which Selector is used. */
+   public static final int DEFAULT_THRESHOLD = 1 << 14;
+
+   private final int threshold;
+   private final ForkJoinPool pool;
+
+
+   public ParallelSelector() {
+      this(DEFAULT_THRESHOLD);
+   }
+
+
+   public ParallelSelector(int threshold) {
+      this(threshold, ForkJoinPool.commonPool());
+   }
+
+
+   public ParallelSelector(int threshold, ForkJoinPool pool) {
+      if (threshold < 1 || pool == null) {
+         throw new IllegalArgumentException("Error.");
+      }
+      this.threshold = threshold;
+      this.pool = pool;
+   }
+
+
+
+   public <T> T min(Collection<T> coll, Comparator<T> comp) {
+      if (sequential(coll, comp) || Selector.sortedBy(coll, comp) != null) {
+         return Selector.min(coll, comp);
+      }
+      return reduce(coll, new Reducer<T, Best<T>>() {
+         @Override
+         Best<T> leaf(Spliterator<T> part) {
+            Best<T> best = new Best<T>();
+            part.forEachRemaining(t -> {
+               if (!best.present || comp.compare(t, best.value) < 0) {
+                  best.set(t);
+               }
+            });
+            return best;
+         }
+
+         @Override
+         Best<T> combine(Best<T> left, Best<T> right) {
+            if (!left.present
+               || right.present && comp.compare(right.value, left.value) < 0) {
+               return right;
+            }
+            return left;
+         }
+      }).get();
+   }
+
+
+
+   public <T> T max(Collection<T> coll, Comparator<T> comp) {
+      if (sequential(coll, comp) || Selector.sortedBy(coll, comp) != null) {
+         return Selector.max(coll, comp);
+      }
+      return reduce(coll, new Reducer<T, Best<T>>() {
+         @Override
+         Best<T> leaf(Spliterator<T> part) {
+            Best<T> best = new Best<T>();
+            part.forEachRemaining(t -> {
+               if (!best.present || comp.compare(t, best.value) > 0) {
+                  best.set(t);
+               }
+            });
+            return best;
+         }
+
+         @Override
+         Best<T> combine(Best<T> left, Best<T> right) {
+            if (!left.present
+               || right.present && comp.compare(right.value, left.value) > 0) {
+               return right;
+            }
+            return left;
+         }
+      }).get();
+   }
+
+
+
+   public <T> Collection<T> range(Collection<T> coll, T low, T high,
+                                  Comparator<T> comp) {
+      if (sequential(coll, comp) || Selector.sortedBy(coll, comp) != null) {
+         return Selector.range(coll, low, high, comp);
+      }
+      //each piece's matches, in order; joined once at the end
+      List<List<T>> pieces = reduce(coll, new Reducer<T, List<List<T>>>() {
+         @Override
+         List<List<T>> leaf(Spliterator<T> part) {
+            List<T> found = new ArrayList<T>();
+            part.forEachRemaining(t -> {
+               if (comp.compare(t, low) >= 0 && comp.compare(t, high) <= 0) {
+                  found.add(t);
+               }
+            });
+            List<List<T>> one = new ArrayList<List<T>>(1);
+            one.add(found);
+            return one;
+         }
+
+         @Override
+         List<List<T>> combine(List<List<T>> left, List<List<T>> right) {
+            left.addAll(right);
+            return left;
+         }
+      });
+      int total = 0;
+      for (List<T> piece : pieces) {
+         total += piece.size();
+      }
+      List<T> answer = new ArrayList<T>(total);
+      for (List<T> piece : pieces) {
+         answer.addAll(piece);
+      }
+      if (answer.isEmpty()) {
+         throw new NoSuchElementException("Error.");
+      }
+      return answer;
+   }
+
+
+
+   public <T> T kmin(Collection<T> coll, int k, Comparator<T> comp) {
+      if (sequential(coll, comp)) {
+         return Selector.kmin(coll, k, comp);
+      }
+      if (k < 1) {
+         throw new NoSuchElementException("Error.");
+      }
+      if (k <= Selector.SMALL_K) {
+         return kth(coll, k, comp, false);
+      }
+
+      T[] sorted = sortedCopy(coll, comp);
+      int diff = 1;
+      for (int i = 1; i < sorted.length; i++) {
+         if (comp.compare(sorted[i], sorted[i - 1]) != 0) {
+            diff++;
+            if (diff == k) {
+               return sorted[i];
+            }
+         }
+      }
+      throw new NoSuchElementException("Error");
+   }
+
+
+
+   public <T> T kmax(Collection<T> coll, int k, Comparator<T> comp) {
+      if (sequential(coll, comp)) {
+         return Selector.kmax(coll, k, comp);
+      }
+      if (k < 1) {
+         throw new NoSuchElementException("Error.");
+      }
+      if (k <= Selector.SMALL_K) {
+         return kth(coll, k, comp.reversed(), true);
+      }
+
+      T[] sorted = sortedCopy(coll, comp);
+      int diff = 1;
+      for (int i = sorted.length - 1; i > 0; i--) {
+         if (comp.compare(sorted[i], sorted[i - 1]) != 0) {
+            diff++;
+            if (diff == k) {
+               return sorted[i - 1];
+            }
+         }
+      }
+      throw new NoSuchElementException("Error");
+   }
+
+
+   /**
+    * Checks the arguments as Selector does and returns true if coll is
+    * known to be small enough for the sequential code.
+    */
+   private <T> boolean sequential(Collection<T> coll, Comparator<T> comp) {
+      if (coll == null || comp == null || coll.isEmpty()) {
+         return true;
+      }
+      Spliterator<T> s = coll.spliterator();
+      return s.hasCharacteristics(Spliterator.SIZED) && s.getExactSizeIfKnown() < threshold;
+   }
+
+
+   /**
+    * Each piece keeps its k smallest distinct elements by comp; merging
+    * the right piece into the left keeps the left element on a tie, or
+    * the right one when keepLast is set.
+    */
+   private <T> T kth(Collection<T> coll, int k, Comparator<T> comp, boolean keepLast) {
+      BoundedDistinct<T> best = reduce(coll,
+         new Reducer<T, BoundedDistinct<T>>() {
+            @Override
+            BoundedDistinct<T> leaf(Spliterator<T> part) {
+               BoundedDistinct<T> found = new BoundedDistinct<T>(k, comp, keepLast);
+               part.forEachRemaining(found::offer);
+               return found;
+            }
+
+            @Override
+            BoundedDistinct<T> combine(BoundedDistinct<T> left, BoundedDistinct<T> right) {
+               left.offerAll(right);
+               return left;
+            }
+         });
+      if (best.size() < k) {
+         throw new NoSuchElementException("Error");
+      }
+      return best.get(k - 1);
+   }
+
+
+   //stable parallel sort of a copy, so ties keep their encounter order
+   @SuppressWarnings("unchecked")
+   private static <T> T[] sortedCopy(Collection<T> coll, Comparator<T> comp) {
+      T[] copy = (T[]) coll.toArray();
+      Arrays.parallelSort(copy, comp);
+      return copy;
+   }
+
+
+   private <T, R> R reduce(Collection<T> coll, Reducer<T, R> reducer) {
+      return pool.invoke(new SplitTask<T, R>(balanced(coll), reducer));
+   }
+
+
+   /**
+    * Returns a spliterator over coll that splits into halves. Spliterators
+    * that are not SUBSIZED, such as those of the concurrent queues, split
+    * off batches that grow by one element at a time, which makes a deep,
+    * lopsided tree of tasks; for those coll is copied into an array
+    * first, whose spliterator halves exactly.
+    */
+   @SuppressWarnings("unchecked")
+   private static <T> Spliterator<T> balanced(Collection<T> coll) {
+      Spliterator<T> s = coll.spliterator();
+      if (s.hasCharacteristics(Spliterator.SUBSIZED)) {
+         return s;
+      }
+      return Arrays.spliterator((T[]) coll.toArray());
+   }
+
+
+   /** How to reduce one piece of a collection and merge two results. */
+   private abstract static class Reducer<T, R> {
+
+      abstract R leaf(Spliterator<T> part);
+
+      //left holds elements that come before those of right
+      abstract R combine(R left, R right);
+   }
+
+
+   /**
+    * Splits a spliterator down to pieces of about threshold elements,
+    * reduces each piece and merges the results in encounter order.
+    */
+   private final class SplitTask<T, R> extends RecursiveTask<R> {
+      private static final long serialVersionUID = 1L;
+      private final Spliterator<T> part;
+      private final Reducer<T, R> reducer;
+
+      SplitTask(Spliterator<T> part, Reducer<T, R> reducer) {
+         this.part = part;
+         this.reducer = reducer;
+      }
+
+      @Override
+      protected R compute() {
+         Spliterator<T> prefix;
+         if (part.estimateSize() <= threshold || (prefix = part.trySplit()) == null) {
+            return reducer.leaf(part);
+         }
+         SplitTask<T, R> left = new SplitTask<T, R>(prefix, reducer);
+         SplitTask<T, R> right = new SplitTask<T, R>(part, reducer);
+         left.fork();
+         R r = right.compute();
+         return reducer.combine(left.join(), r);
+      }
+   }
+
+
+   /** The best element found so far in a piece, if any. */
+   private static final class Best<T> {
+      private T value;
+      private boolean present;
+
+      void set(T t) {
+         value = t;
+         present = true;
+      }
+
+      //coll was not empty, so some piece always found an element
+      T get() {
+         return value;
+      }
+   }
+}
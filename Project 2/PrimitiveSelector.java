@@ -0,0 +1,320 @@
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * Defines the Selector methods on arrays of longs and doubles, so that
+ * numeric data can be searched without boxing every value and without
+ * calling a Comparator for every comparison.
+ *
+ * The methods follow Selector's conventions: IllegalArgumentException
+ * for a null array, NoSuchElementException for an empty array or a
+ * missing answer. Doubles are ordered as Double.compare orders them,
+ * which is also the order of Comparator.naturalOrder() on Doubles:
+ * -0.0 is less than 0.0, and NaN is greater than every other value and
+ * equal to itself. The arrays are never changed.
+ *
+ * @author  Li-Kai Lin
+ *
+ */
+public final class PrimitiveSelector {
+
+
+   private PrimitiveSelector() { }
+
+
+
+   public static long min(long[] a) {
+      check(a);
+      long answer = a[0];
+      for (int i = 1; i < a.length; i++) {
+         answer = Math.min(answer, a[i]);
+      }
+      return answer;
+   }
+
+
+
+   public static long max(long[] a) {
+      check(a);
+      long answer = a[0];
+      for (int i = 1; i < a.length; i++) {
+         answer = Math.max(answer, a[i]);
+      }
+      return answer;
+   }
+
+
+
+   public static long kmin(long[] a, int k) {
+      check(a, k);
+      return kth(a, null, k, false);
+   }
+
+
+
+   public static long kmax(long[] a, int k) {
+      check(a, k);
+      return kth(a, null, k, true);
+   }
+
+
+
+   public static long[] range(long[] a, long low, long high) {
+      check(a);
+      long[] answer = new long[16];
+      int size = 0;
+      for (int i = 0; i < a.length; i++) {
+         if (a[i] >= low && a[i] <= high) {
+            if (size == answer.length) {
+               answer = Arrays.copyOf(answer, 2 * size);
+            }
+            answer[size] = a[i];
+            size++;
+         }
+      }
+      if (size == 0) {
+         throw new NoSuchElementException("Error.");
+      }
+      return Arrays.copyOf(answer, size);
+   }
+
+
+
+   public static long ceiling(long[] a, long key) {
+      check(a);
+      boolean found = false;
+      long answer = 0;
+      for (int i = 0; i < a.length; i++) {
+         if (a[i] >= key && (!found || a[i] < answer)) {
+            answer = a[i];
+            found = true;
+         }
+      }
+      if (!found) {
+         throw new NoSuchElementException("Error.");
+      }
+      return answer;
+   }
+
+
+
+   public static long floor(long[] a, long key) {
+      check(a);
+      boolean found = false;
+      long answer = 0;
+      for (int i = 0; i < a.length; i++) {
+         if (a[i] <= key && (!found || a[i] > answer)) {
+            answer = a[i];
+            found = true;
+         }
+      }
+      if (!found) {
+         throw new NoSuchElementException("Error.");
+      }
+      return answer;
+   }
+
+
+
+   public static double min(double[] a) {
+      check(a);
+      double answer = a[0];
+      for (int i = 1; i < a.length; i++) {
+         if (Double.compare(a[i], answer) < 0) {
+            answer = a[i];
+         }
+      }
+      return answer;
+   }
+
+
+
+   public static double max(double[] a) {
+      check(a);
+      double answer = a[0];
+      for (int i = 1; i < a.length; i++) {
+         if (Double.compare(a[i], answer) > 0) {
+            answer = a[i];
+         }
+      }
+      return answer;
+   }
+
+
+
+   public static double kmin(double[] a, int k) {
+      check(a, k);
+      return fromKey(kth(null, a, k, false));
+   }
+
+
+
+   public static double kmax(double[] a, int k) {
+      check(a, k);
+      return fromKey(kth(null, a, k, true));
+   }
+
+
+
+   public static double[] range(double[] a, double low, double high) {
+      check(a);
+      double[] answer = new double[16];
+      int size = 0;
+      for (int i = 0; i < a.length; i++) {
+         if (Double.compare(a[i], low) >= 0 && Double.compare(a[i], high) <= 0) {
+            if (size == answer.length) {
+               answer = Arrays.copyOf(answer, 2 * size);
+            }
+            answer[size] = a[i];
+            size++;
+         }
+      }
+      if (size == 0) {
+         throw new NoSuchElementException("Error.");
+      }
+      return Arrays.copyOf(answer, size);
+   }
+
+
+
+   public static double ceiling(double[] a, double key) {
+      check(a);
+      boolean found = false;
+      double answer = 0;
+      for (int i = 0; i < a.length; i++) {
+         if (Double.compare(a[i], key) >= 0
+            && (!found || Double.compare(a[i], answer) < 0)) {
+            answer = a[i];
+            found = true;
+         }
+      }
+      if (!found) {
+         throw new NoSuchElementException("Error.");
+      }
+      return answer;
+   }
+
+
+
+   public static double floor(double[] a, double key) {
+      check(a);
+      boolean found = false;
+      double answer = 0;
+      for (int i = 0; i < a.length; i++) {
+         if (Double.compare(a[i], key) <= 0
+            && (!found || Double.compare(a[i], answer) > 0)) {
+            answer = a[i];
+            found = true;
+         }
+      }
+      if (!found) {
+         throw new NoSuchElementException("Error.");
+      }
+      return answer;
+   }
+
+
+   private static void check(long[] a) {
+      if (a == null) {
+         throw new IllegalArgumentException("Error.");
+      }
+      else if (a.length == 0) {
+         throw new NoSuchElementException("Error.");
+      }
+   }
+
+
+   private static void check(double[] a) {
+      if (a == null) {
+         throw new IllegalArgumentException("Error.");
+      }
+      else if (a.length == 0) {
+         throw new NoSuchElementException("Error.");
+      }
+   }
+
+
+   private static void check(long[] a, int k) {
+      check(a);
+      if (k < 1 || a.length < k) {
+         throw new NoSuchElementException("Error.");
+      }
+   }
+
+
+   private static void check(double[] a, int k) {
+      check(a);
+      if (k < 1 || a.length < k) {
+         throw new NoSuchElementException("Error.");
+      }
+   }
+
+
+   /**
+    * Maps a double to a long whose signed order is Double.compare's
+    * order on the doubles; all NaNs map to the same key.
+    */
+   private static long toKey(double d) {
+      long bits = Double.doubleToLongBits(d);
+      return bits ^ ((bits >> 63) & Long.MAX_VALUE);
+   }
+
+
+   private static double fromKey(long key) {
+      return Double.longBitsToDouble(key ^ ((key >> 63) & Long.MAX_VALUE));
+   }
+
+
+   /**
+    * Returns the kth smallest (or, if fromTop, largest) distinct key of
+    * the values in longs, or of the keys of the values in doubles if
+    * longs is null. Small k keeps a sorted buffer of at most k keys in
+    * one pass; larger k sorts a copy. For fromTop the keys are flipped
+    * with ~, which reverses their order.
+    */
+   private static long kth(long[] longs, double[] doubles, int k, boolean fromTop) {
+      int n = (longs != null) ? longs.length : doubles.length;
+      long flip = fromTop ? -1L : 0L;
+
+      if (k <= Selector.SMALL_K) {
+         long[] best = new long[k];
+         int size = 0;
+         for (int i = 0; i < n; i++) {
+            long v = ((longs != null) ? longs[i] : toKey(doubles[i])) ^ flip;
+            if (size == k && v >= best[k - 1]) {
+               continue;
+            }
+            int at = Arrays.binarySearch(best, 0, size, v);
+            if (at >= 0) {
+               continue;
+            }
+            at = -at - 1;
+            if (size < k) {
+               size++;
+            }
+            System.arraycopy(best, at, best, at + 1, size - 1 - at);
+            best[at] = v;
+         }
+         if (size < k) {
+            throw new NoSuchElementException("Error");
+         }
+         return best[k - 1] ^ flip;
+      }
+
+      long[] sorted = new long[n];
+      for (int i = 0; i < n; i++) {
+         sorted[i] = ((longs != null) ? longs[i] : toKey(doubles[i])) ^ flip;
+      }
+      Arrays.sort(sorted);
+      int diff = 1;
+      for (int i = 1; i < n; i++) {
+         if (sorted[i] != sorted[i - 1]) {
+            diff++;
+            if (diff == k) {
+               return sorted[i] ^ flip;
+            }
+         }
+      }
+      throw new NoSuchElementException("Error");
+   }
+}
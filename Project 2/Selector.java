@@ -1,9 +1,12 @@
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Comparator;
 import java.util.Iterator;
 import java.util.List;
+import java.util.NavigableSet;
 import java.util.NoSuchElementException;
+import java.util.stream.Stream;
 
 /**
  * Defines a library of selection methods on Collections.
@@ -13,6 +16,9 @@ import java.util.NoSuchElementException;
  */
 public final class Selector {
 
+   /** kmin and kmax keep a bounded buffer instead of sorting up to this k. */
+   static final int SMALL_K = 64;
+
 
    private Selector() { }
 
@@ -26,6 +32,11 @@ public final class Selector {
          throw new NoSuchElementException("Error.");
       }
       
+      NavigableSet<T> sorted = sortedBy(coll, comp);
+      if (sorted != null) {
+         return sorted.first();
+      }
+      
       Iterator<T> iter = coll.iterator();
       
       T answer = iter.next();
@@ -51,6 +62,11 @@ public final class Selector {
          throw new NoSuchElementException("Error.");
       }
       
+      NavigableSet<T> sorted = sortedBy(coll, comp);
+      if (sorted != null) {
+         return sorted.last();
+      }
+      
       Iterator<T> iter = coll.iterator();
       
       T answer = iter.next();
@@ -77,6 +93,19 @@ public final class Selector {
          throw new NoSuchElementException("Error.");
       }
       
+      // keep the first element seen of each distinct value, which is the
+      // one the stable sort below would return
+      if (k <= SMALL_K) {
+         BoundedDistinct<T> best = new BoundedDistinct<T>(k, comp, false);
+         for (T t : coll) {
+            best.offer(t);
+         }
+         if (best.size() < k) {
+            throw new NoSuchElementException("Error");
+         }
+         return best.get(k - 1);
+      }
+      
       List<T> newList = new ArrayList<>(coll);
       java.util.Collections.<T>sort(newList, comp);
       
@@ -110,6 +139,18 @@ public final class Selector {
          throw new NoSuchElementException("Error.");
       }
       
+      // keep the last element seen of each distinct value, which is the
+      // one the stable sort below would return
+      if (k <= SMALL_K) {
+         BoundedDistinct<T> best = new BoundedDistinct<T>(k, comp.reversed(), true);
+         for (T t : coll) {
+            best.offer(t);
+         }
+         if (best.size() < k) {
+            throw new NoSuchElementException("Error");
+         }
+         return best.get(k - 1);
+      }
       
       List<T> newList = new ArrayList<>(coll);
       java.util.Collections.<T>sort(newList, comp);
@@ -143,6 +184,19 @@ public final class Selector {
       else if (coll.isEmpty()) {
          throw new NoSuchElementException("Error.");
       }
+      
+      NavigableSet<T> sorted = sortedBy(coll, comp);
+      if (sorted != null) {
+         if (comp.compare(low, high) > 0) {
+            throw new NoSuchElementException("Error.");
+         }
+         Collection<T> answer = new ArrayList<T>(subSet(sorted, low, high, comp));
+         if (answer.isEmpty()) {
+            throw new NoSuchElementException("Error.");
+         }
+         return answer;
+      }
+      
       Collection<T> answer = new ArrayList<T>();
    
       
@@ -168,6 +222,121 @@ public final class Selector {
 
 
 
+   /**
+    * Returns a lazy view of the elements of coll in [low..high], in
+    * iteration order. Nothing is copied: each iterator over the view
+    * walks coll and stops at each qualifying element, so a caller that
+    * stops early does not scan the rest. The view reflects later
+    * changes to coll but cannot be used to change it. Unlike range, an
+    * empty result is not an error; the view is simply empty. Throws
+    * IllegalArgumentException if coll or comp is null.
+    */
+   public static <T> Iterable<T> rangeView(Collection<T> coll, T low, T high,
+                                           Comparator<T> comp) {
+      if (coll == null || comp == null) {
+         throw new IllegalArgumentException("Error.");
+      }
+      if (comp.compare(low, high) > 0) {
+         return Collections.<T>emptyList();
+      }
+      NavigableSet<T> live = liveSubSet(sortedBy(coll, comp), low, high);
+      if (live != null) {
+         //read-only, like the filtering view below
+         return Collections.unmodifiableNavigableSet(live);
+      }
+      return () -> new Iterator<T>() {
+         private final Iterator<T> iter = coll.iterator();
+         private T next;
+         private boolean ready;
+      
+         @Override
+         public boolean hasNext() {
+            while (!ready && iter.hasNext()) {
+               T t1 = iter.next();
+               if (comp.compare(t1, low) >= 0 && comp.compare(t1, high) <= 0) {
+                  next = t1;
+                  ready = true;
+               }
+            }
+            return ready;
+         }
+      
+         @Override
+         public T next() {
+            if (!hasNext()) {
+               throw new NoSuchElementException("Error.");
+            }
+            ready = false;
+            return next;
+         }
+      };
+   }
+
+
+
+   /**
+    * Returns a lazy sequential stream of the elements of coll in
+    * [low..high], in iteration order. Short-circuiting operations such
+    * as findFirst or limit stop the scan early. An empty result is an
+    * empty stream. Throws IllegalArgumentException if coll or comp is
+    * null.
+    */
+   public static <T> Stream<T> rangeStream(Collection<T> coll, T low, T high,
+                                           Comparator<T> comp) {
+      if (coll == null || comp == null) {
+         throw new IllegalArgumentException("Error.");
+      }
+      if (comp.compare(low, high) > 0) {
+         return Stream.empty();
+      }
+      NavigableSet<T> live = liveSubSet(sortedBy(coll, comp), low, high);
+      if (live != null) {
+         return live.stream();
+      }
+      return coll.stream()
+         .filter(t1 -> comp.compare(t1, low) >= 0 && comp.compare(t1, high) <= 0);
+   }
+
+
+
+   /**
+    * Returns the number of elements of coll in [low..high] without
+    * collecting them. Throws IllegalArgumentException if coll or comp
+    * is null.
+    */
+   public static <T> int countInRange(Collection<T> coll, T low, T high,
+                                      Comparator<T> comp) {
+      return countInRange(coll, low, high, comp, Integer.MAX_VALUE);
+   }
+
+
+
+   /**
+    * Returns the number of elements of coll in [low..high], but stops
+    * scanning as soon as limit of them have been found, so the result
+    * is at most limit. Useful for questions like "are there at least
+    * ten?". Throws IllegalArgumentException if coll or comp is null or
+    * limit is negative.
+    */
+   public static <T> int countInRange(Collection<T> coll, T low, T high,
+                                      Comparator<T> comp, int limit) {
+      if (limit < 0) {
+         throw new IllegalArgumentException("Error.");
+      }
+      int count = 0;
+      NavigableSet<T> sorted = (comp == null) ? null : sortedBy(coll, comp);
+      Iterator<T> iter = (sorted != null)
+         ? subSet(sorted, low, high, comp).iterator()
+         : rangeView(coll, low, high, comp).iterator();
+      while (count < limit && iter.hasNext()) {
+         iter.next();
+         count++;
+      }
+      return count;
+   }
+
+
+
    public static <T> T ceiling(Collection<T> coll, T key, Comparator<T> comp) {
       if (coll == null || comp == null) {
          throw new IllegalArgumentException("Error.");
@@ -175,16 +344,31 @@ public final class Selector {
       else if (coll.isEmpty()) {
          throw new NoSuchElementException("Error.");
       }
-      T maxValue = Selector.max(coll, comp);
-      Collection<T> valueInRange = Selector.range(coll, key, maxValue, comp);
       
+      NavigableSet<T> sorted = sortedBy(coll, comp);
+      if (sorted != null) {
+         T answer = sorted.ceiling(key);
+         if (answer == null) {
+            throw new NoSuchElementException("Error.");
+         }
+         return answer;
+      }
       
+      boolean found = false;
+      T answer = null;
+      for (T t1 : coll) {
+         if (comp.compare(t1, key) >= 0 
+            && (!found || comp.compare(t1, answer) < 0)) {
+            answer = t1;
+            found = true;
+         }
+      }
       
-      if (valueInRange == null) {
+      if (!found) {
          throw new NoSuchElementException("Error.");
       }
       
-      return Selector.min(valueInRange, comp); 
+      return answer; 
    }
 
 
@@ -196,16 +380,369 @@ public final class Selector {
       else if (coll.isEmpty()) {
          throw new NoSuchElementException("Error.");
       }
-      T minValue = Selector.min(coll, comp);
-      Collection<T> valueInRange = Selector.range(coll, minValue, key, comp);
       
+      NavigableSet<T> sorted = sortedBy(coll, comp);
+      if (sorted != null) {
+         T answer = sorted.floor(key);
+         if (answer == null) {
+            throw new NoSuchElementException("Error.");
+         }
+         return answer;
+      }
+      
+      boolean found = false;
+      T answer = null;
+      for (T t1 : coll) {
+         if (comp.compare(t1, key) <= 0 
+            && (!found || comp.compare(t1, answer) > 0)) {
+            answer = t1;
+            found = true;
+         }
+      }
+      
+      if (!found) {
+         throw new NoSuchElementException("Error.");
+      }
+      
+      return answer; 
+   }
+
+
+
+   /**
+    * Returns the ceiling and the floor of key, found in the same single
+    * traversal of coll, as a two-element list: element 0 is what
+    * ceiling(coll, key, comp) returns and element 1 is what
+    * floor(coll, key, comp) returns. Throws the same exceptions as those
+    * methods, including NoSuchElementException if either is missing.
+    */
+   public static <T> List<T> ceilingFloor(Collection<T> coll, T key, 
+                                          Comparator<T> comp) {
+      if (coll == null || comp == null) {
+         throw new IllegalArgumentException("Error.");
+      }
+      else if (coll.isEmpty()) {
+         throw new NoSuchElementException("Error.");
+      }
+      
+      NavigableSet<T> sorted = sortedBy(coll, comp);
+      if (sorted != null) {
+         T ceiling = sorted.ceiling(key);
+         T floor = sorted.floor(key);
+         if (ceiling == null || floor == null) {
+            throw new NoSuchElementException("Error.");
+         }
+         return java.util.Arrays.asList(ceiling, floor);
+      }
       
+      boolean hasCeiling = false;
+      boolean hasFloor = false;
+      T ceiling = null;
+      T floor = null;
+      for (T t1 : coll) {
+         int c = comp.compare(t1, key);
+         if (c >= 0 && (!hasCeiling || comp.compare(t1, ceiling) < 0)) {
+            ceiling = t1;
+            hasCeiling = true;
+         }
+         if (c <= 0 && (!hasFloor || comp.compare(t1, floor) > 0)) {
+            floor = t1;
+            hasFloor = true;
+         }
+      }
       
-      if (valueInRange == null) {
+      if (!hasCeiling || !hasFloor) {
          throw new NoSuchElementException("Error.");
       }
       
-      return Selector.max(valueInRange, comp); 
+      return java.util.Arrays.asList(ceiling, floor); 
+   }
+
+
+
+   /*
+    * Natural-order versions of the methods above, for collections of
+    * Comparable elements. They call compareTo directly instead of going
+    * through a Comparator, and otherwise return the same element and
+    * throw the same exceptions as the Comparator versions given
+    * Comparator.naturalOrder().
+    */
+
+
+
+   public static <T extends Comparable<? super T>> T min(Collection<T> coll) {
+      if (coll == null) {
+         throw new IllegalArgumentException("Error.");
+      }
+      else if (coll.isEmpty()) {
+         throw new NoSuchElementException("Error.");
+      }
+      if (coll instanceof NavigableSet) {
+         return Selector.min(coll, Comparator.<T>naturalOrder());
+      }
+      
+      Iterator<T> iter = coll.iterator();
+      T answer = iter.next();
+      while (iter.hasNext()) {
+         T t1 = iter.next();
+         if (t1.compareTo(answer) < 0) {
+            answer = t1;
+         }
+      }
+      return answer;
+   }
+
+
+
+   public static <T extends Comparable<? super T>> T max(Collection<T> coll) {
+      if (coll == null) {
+         throw new IllegalArgumentException("Error.");
+      }
+      else if (coll.isEmpty()) {
+         throw new NoSuchElementException("Error.");
+      }
+      if (coll instanceof NavigableSet) {
+         return Selector.max(coll, Comparator.<T>naturalOrder());
+      }
+      
+      Iterator<T> iter = coll.iterator();
+      T answer = iter.next();
+      while (iter.hasNext()) {
+         T t1 = iter.next();
+         if (t1.compareTo(answer) > 0) {
+            answer = t1;
+         }
+      }
+      return answer;
+   }
+
+
+
+   public static <T extends Comparable<? super T>> T kmin(Collection<T> coll, int k) {
+      if (coll == null) {
+         throw new IllegalArgumentException("Error.");
+      }
+      else if (coll.isEmpty() || k < 1 || coll.size() < k) {
+         throw new NoSuchElementException("Error.");
+      }
+      
+      if (k <= SMALL_K) {
+         BoundedDistinct<T> best = new BoundedDistinct<T>(k, Comparator.<T>naturalOrder(), false);
+         for (T t : coll) {
+            best.offer(t);
+         }
+         if (best.size() < k) {
+            throw new NoSuchElementException("Error");
+         }
+         return best.get(k - 1);
+      }
+      
+      List<T> newList = new ArrayList<>(coll);
+      java.util.Collections.sort(newList);
+      int i = 1;
+      int diff = 1;
+      while (diff < k && i < newList.size()) {
+         if (newList.get(i).compareTo(newList.get(i - 1)) != 0) {
+            diff++;
+         }
+         i++;
+      }
+      
+      if (k == diff) {
+         return newList.get(i - 1);
+      }
+      else {
+         throw new NoSuchElementException("Error");
+      }
+   }
+
+
+
+   public static <T extends Comparable<? super T>> T kmax(Collection<T> coll, int k) {
+      if (coll == null) {
+         throw new IllegalArgumentException("Error.");
+      }
+      else if (coll.isEmpty() || k < 1 || coll.size() < k) {
+         throw new NoSuchElementException("Error.");
+      }
+      
+      if (k <= SMALL_K) {
+         BoundedDistinct<T> best = new BoundedDistinct<T>(k, Comparator.<T>reverseOrder(), true);
+         for (T t : coll) {
+            best.offer(t);
+         }
+         if (best.size() < k) {
+            throw new NoSuchElementException("Error");
+         }
+         return best.get(k - 1);
+      }
+      
+      List<T> newList = new ArrayList<>(coll);
+      java.util.Collections.sort(newList);
+      int i = newList.size() - 1;
+      int diff = 1;
+      while (diff < k && i > 0) {
+         if (newList.get(i).compareTo(newList.get(i - 1)) != 0) {
+            diff++;
+         }
+         i--;
+      }
+      
+      if (k == diff) {
+         return newList.get(i);
+      }
+      else {
+         throw new NoSuchElementException("Error");
+      }
+   }
+
+
+
+   public static <T extends Comparable<? super T>> Collection<T> range(Collection<T> coll,
+                                                                      T low, T high) {
+      if (coll == null) {
+         throw new IllegalArgumentException("Error.");
+      }
+      else if (coll.isEmpty()) {
+         throw new NoSuchElementException("Error.");
+      }
+      if (coll instanceof NavigableSet) {
+         return Selector.range(coll, low, high, Comparator.<T>naturalOrder());
+      }
+      
+      Collection<T> answer = new ArrayList<T>();
+      for (T t1 : coll) {
+         if (t1.compareTo(low) >= 0 && t1.compareTo(high) <= 0) {
+            answer.add(t1);
+         }
+      }
+      if (answer.isEmpty()) {
+         throw new NoSuchElementException("Error.");
+      }
+      return answer;
+   }
+
+
+
+   public static <T extends Comparable<? super T>> T ceiling(Collection<T> coll, T key) {
+      if (coll == null) {
+         throw new IllegalArgumentException("Error.");
+      }
+      else if (coll.isEmpty()) {
+         throw new NoSuchElementException("Error.");
+      }
+      if (coll instanceof NavigableSet) {
+         return Selector.ceiling(coll, key, Comparator.<T>naturalOrder());
+      }
+      
+      boolean found = false;
+      T answer = null;
+      for (T t1 : coll) {
+         if (t1.compareTo(key) >= 0 && (!found || t1.compareTo(answer) < 0)) {
+            answer = t1;
+            found = true;
+         }
+      }
+      if (!found) {
+         throw new NoSuchElementException("Error.");
+      }
+      return answer;
+   }
+
+
+
+   public static <T extends Comparable<? super T>> T floor(Collection<T> coll, T key) {
+      if (coll == null) {
+         throw new IllegalArgumentException("Error.");
+      }
+      else if (coll.isEmpty()) {
+         throw new NoSuchElementException("Error.");
+      }
+      if (coll instanceof NavigableSet) {
+         return Selector.floor(coll, key, Comparator.<T>naturalOrder());
+      }
+      
+      boolean found = false;
+      T answer = null;
+      for (T t1 : coll) {
+         if (t1.compareTo(key) <= 0 && (!found || t1.compareTo(answer) > 0)) {
+            answer = t1;
+            found = true;
+         }
+      }
+      if (!found) {
+         throw new NoSuchElementException("Error.");
+      }
+      return answer;
+   }
+
+
+
+   /**
+    * Returns the elements of sorted in [low..high], where low <= high by
+    * comp. The bounds are first clamped to sorted's own first and last
+    * elements, since a set that is itself a bounded view (from subSet,
+    * headSet or tailSet) rejects bounds outside its range. The result
+    * is for immediate use only: elements added to sorted later, outside
+    * its old first and last, are not in it.
+    */
+   private static <T> NavigableSet<T> subSet(NavigableSet<T> sorted, T low, T high,
+                                             Comparator<T> comp) {
+      if (comp.compare(low, high) > 0 || sorted.isEmpty()) {
+         return Collections.<T>emptyNavigableSet();
+      }
+      T first = sorted.first();
+      T last = sorted.last();
+      T from = (comp.compare(low, first) < 0) ? first : low;
+      T to = (comp.compare(high, last) > 0) ? last : high;
+      if (comp.compare(from, to) > 0) {
+         return Collections.<T>emptyNavigableSet();
+      }
+      return sorted.subSet(from, true, to, true);
+   }
+
+
+
+   /**
+    * Returns the live view of sorted in [low..high], where low <= high,
+    * which follows every later change to sorted. Returns null if sorted
+    * is null, or is itself a bounded view that rejects these bounds;
+    * there is no way to ask a set whether it is one, so the bounds are
+    * simply tried.
+    */
+   private static <T> NavigableSet<T> liveSubSet(NavigableSet<T> sorted, T low, T high) {
+      if (sorted == null) {
+         return null;
+      }
+      try {
+         return sorted.subSet(low, true, high, true);
+      }
+      catch (IllegalArgumentException e) {
+         return null;
+      }
+   }
+
+
+
+   /**
+    * Returns coll as a NavigableSet if it is one and is ordered by comp
+    * (or by natural order, when comp is the natural order comparator),
+    * and null otherwise. Such a set holds one element per distinct
+    * value in ascending order, so min, max, ceiling, floor and range
+    * can answer from the set's own navigation methods in O(log n)
+    * instead of scanning it.
+    */
+   @SuppressWarnings("unchecked")
+   static <T> NavigableSet<T> sortedBy(Collection<T> coll, Comparator<T> comp) {
+      if (!(coll instanceof NavigableSet)) {
+         return null;
+      }
+      NavigableSet<T> set = (NavigableSet<T>) coll;
+      Comparator<? super T> order = set.comparator();
+      if (order == null) {
+         return comp.equals(Comparator.naturalOrder()) ? set : null;
+      }
+      return order.equals(comp) ? set : null;
    }
 
 }
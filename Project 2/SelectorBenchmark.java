@@ -0,0 +1,182 @@
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * SelectorBenchmark.java. Measures the generic selection methods of
+ * Selector, and of ParallelSelector and PrimitiveSelector beside it,
+ * over several collection sizes, value distributions and values of k.
+ *
+ * For every case the harness warms the code up, then runs it repeatedly
+ * for a fixed time and prints the throughput, the average time per call
+ * and the bytes allocated per call by the calling thread. Run it with
+ *
+ *    javac *.java && java SelectorBenchmark [maxSize] [millisPerCase]
+ *
+ * Sizes go from 1e3 up to maxSize (default 1e6). Boxed collections take
+ * far more heap than int arrays; 1e8 elements needs about 8GB
+ * (java -Xmx10g). Work done on fork/join worker threads is timed but its
+ * allocation is not counted.
+ *
+ * @author  Li-Kai Lin
+ *
+ */
+public final class SelectorBenchmark {
+
+   /** value distributions of the generated collections. */
+   private enum Distribution { UNIFORM, DUPLICATES, SORTED, REVERSED }
+
+   private static final int[] KS = {1, 10, 1000};
+
+   private static final Comparator<Long> ORDER = Comparator.naturalOrder();
+
+   /** keeps results live so the JIT cannot drop the work. */
+   private static volatile long sink;
+
+   private static long millisPerCase = 500;
+
+
+   private SelectorBenchmark() { }
+
+
+   /**
+    * Drives execution.
+    */
+   public static void main(String[] args) {
+      int maxSize = (args.length > 0) ? (int) Double.parseDouble(args[0]) : 1_000_000;
+      if (args.length > 1) {
+         millisPerCase = Long.parseLong(args[1]);
+      }
+
+      System.out.printf("%-30s %-10s %10s %6s %14s %14s %14s%n",
+                        "method", "dist", "n", "k", "ops/s", "ns/op", "B/op");
+      for (int n = 1000; n <= maxSize; n *= 10) {
+         for (Distribution dist : Distribution.values()) {
+            run(generate(n, dist), dist);
+         }
+      }
+   }
+
+
+   private static void run(long[] values, Distribution dist) {
+      int n = values.length;
+      List<Long> list = new ArrayList<Long>(n);
+      for (long v : values) {
+         list.add(v);
+      }
+      TreeSet<Long> set = new TreeSet<Long>(list);
+      ConcurrentLinkedQueue<Long> queue = new ConcurrentLinkedQueue<Long>(list);
+      Random random = new Random(n);
+      Long key = values[random.nextInt(n)];
+      Long low = Math.min(key, values[random.nextInt(n)]);
+      Long high = Math.max(key, values[random.nextInt(n)]);
+      ParallelSelector parallel = new ParallelSelector();
+
+      report("Selector.min", dist, n, 0, () -> Selector.min(list, ORDER));
+      report("Selector.min(Comparable)", dist, n, 0, () -> Selector.min(list));
+      report("Selector.min(TreeSet)", dist, n, 0, () -> Selector.min(set, ORDER));
+      report("ParallelSelector.min", dist, n, 0, () -> parallel.min(list, ORDER));
+      report("Selector.min(queue)", dist, n, 0, () -> Selector.min(queue, ORDER));
+      report("ParallelSelector.min(queue)", dist, n, 0, () -> parallel.min(queue, ORDER));
+      report("PrimitiveSelector.min", dist, n, 0, () -> PrimitiveSelector.min(values));
+      report("Selector.max", dist, n, 0, () -> Selector.max(list, ORDER));
+      report("PrimitiveSelector.max", dist, n, 0, () -> PrimitiveSelector.max(values));
+      report("Selector.range", dist, n, 0, () -> Selector.range(list, low, high, ORDER).size());
+      report("Selector.range(TreeSet)", dist, n, 0,
+         () -> Selector.range(set, low, high, ORDER).size());
+      report("Selector.countInRange", dist, n, 0,
+         () -> Selector.countInRange(list, low, high, ORDER));
+      report("ParallelSelector.range", dist, n, 0,
+         () -> parallel.range(list, low, high, ORDER).size());
+      report("Selector.range(queue)", dist, n, 0,
+         () -> Selector.range(queue, low, high, ORDER).size());
+      report("ParallelSelector.range(queue)", dist, n, 0,
+         () -> parallel.range(queue, low, high, ORDER).size());
+      report("PrimitiveSelector.range", dist, n, 0,
+         () -> PrimitiveSelector.range(values, low, high).length);
+      report("Selector.ceiling", dist, n, 0, () -> Selector.ceiling(list, key, ORDER));
+      report("Selector.ceiling(TreeSet)", dist, n, 0, () -> Selector.ceiling(set, key, ORDER));
+      report("Selector.floor", dist, n, 0, () -> Selector.floor(list, key, ORDER));
+      report("PrimitiveSelector.ceiling", dist, n, 0, () -> PrimitiveSelector.ceiling(values, key));
+
+      for (int k : KS) {
+         if (k > set.size()) {
+            continue;
+         }
+         report("Selector.kmin", dist, n, k, () -> Selector.kmin(list, k, ORDER));
+         report("Selector.kmax", dist, n, k, () -> Selector.kmax(list, k, ORDER));
+         report("ParallelSelector.kmin", dist, n, k, () -> parallel.kmin(list, k, ORDER));
+         report("PrimitiveSelector.kmin", dist, n, k, () -> PrimitiveSelector.kmin(values, k));
+      }
+   }
+
+
+   /** A benchmarked call; returns something derived from its result. */
+   private interface Op {
+      long run();
+   }
+
+
+   private static void report(String name, Distribution dist, int n, int k, Op op) {
+      //warm up for half the measuring time
+      long end = System.nanoTime() + millisPerCase * 500_000L;
+      while (System.nanoTime() < end) {
+         sink += op.run();
+      }
+
+      long bytes = allocatedBytes();
+      long start = System.nanoTime();
+      end = start + millisPerCase * 1_000_000L;
+      long calls = 0;
+      long now;
+      do {
+         sink += op.run();
+         calls++;
+         now = System.nanoTime();
+      } while (now < end);
+      bytes = allocatedBytes() - bytes;
+
+      double nanosPerCall = (double) (now - start) / calls;
+      System.out.printf("%-30s %-10s %10d %6s %14.1f %14.1f %14d%n",
+                        name, dist, n, (k == 0) ? "-" : String.valueOf(k),
+                        1e9 / nanosPerCall, nanosPerCall, bytes / calls);
+   }
+
+
+   //bytes allocated so far by this thread, or 0 if the JVM cannot tell
+   private static long allocatedBytes() {
+      java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+      if (bean instanceof com.sun.management.ThreadMXBean) {
+         return ((com.sun.management.ThreadMXBean) bean)
+                   .getThreadAllocatedBytes(Thread.currentThread().getId());
+      }
+      return 0;
+   }
+
+
+   private static long[] generate(int n, Distribution dist) {
+      Random random = new Random(42);
+      long[] values = new long[n];
+      for (int i = 0; i < n; i++) {
+         switch (dist) {
+            case DUPLICATES:
+               values[i] = random.nextInt(Math.max(16, n / 1000));
+               break;
+            case SORTED:
+               values[i] = i;
+               break;
+            case REVERSED:
+               values[i] = n - i;
+               break;
+            default:
+               values[i] = random.nextInt();
+               break;
+         }
+      }
+      return values;
+   }
+}
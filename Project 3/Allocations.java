@@ -0,0 +1,30 @@
+import java.lang.management.ManagementFactory;
+
+/**
+ * Allocations.java. Reads how many bytes the calling thread has
+ * allocated, for ExtractorMetrics and ExtractorBenchmark.
+ *
+ * @author  Li-Kai Lin
+ * @version 2026-10-18
+ *
+ */
+final class Allocations {
+
+   /**
+    * Can't instantiate this class.
+    */
+   private Allocations() { }
+
+   /**
+    * Returns the bytes allocated so far by this thread, or 0 if the JVM
+    * cannot tell.
+    */
+   static long allocatedBytes() {
+      java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+      if (bean instanceof com.sun.management.ThreadMXBean) {
+         return ((com.sun.management.ThreadMXBean) bean)
+                   .getThreadAllocatedBytes(Thread.currentThread().getId());
+      }
+      return 0;
+   }
+}
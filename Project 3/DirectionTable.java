@@ -0,0 +1,119 @@
+/**
+ * DirectionTable.java. Groups point indices by a long key (a direction
+ * from Point.directionTo) in a primitive open-addressing hash table, so
+ * that grouping n points costs expected O(n) with no boxing and no
+ * per-entry objects. The table is meant to be cleared and refilled once
+ * per anchor point; clearing is O(1).
+ *
+ * Members of a group are kept as a linked list threaded through an
+ * array indexed by member, so each member index may be added at most
+ * once between clears.
+ *
+ * @author  Li-Kai Lin
+ * @version 2026-10-18
+ *
+ */
+final class DirectionTable {
+
+   /** key held by each slot. */
+   private final long[] slotKey;
+   /** group stored in each slot. */
+   private final int[] slotGroup;
+   /** a slot is in use only if its stamp equals the generation. */
+   private final int[] slotStamp;
+   private final int mask;
+   private int generation;
+
+   /** per group: its key, newest and oldest member, number of members. */
+   private final long[] groupKey;
+   private final int[] head;
+   private final int[] tail;
+   private final int[] count;
+   private int groups;
+
+   /** next[m] is the member after m in its group, or -1. */
+   private final int[] next;
+
+   /**
+    * Builds a table for member indices in [0, maxMembers).
+    */
+   DirectionTable(int maxMembers) {
+      int capacity = Integer.highestOneBit(Math.max(2, maxMembers) * 2 - 1) << 1;
+      slotKey = new long[capacity];
+      slotGroup = new int[capacity];
+      slotStamp = new int[capacity];
+      mask = capacity - 1;
+      generation = 1;
+      groupKey = new long[maxMembers];
+      head = new int[maxMembers];
+      tail = new int[maxMembers];
+      count = new int[maxMembers];
+      next = new int[maxMembers];
+   }
+
+   /** Removes every group. */
+   void clear() {
+      generation++;
+      groups = 0;
+   }
+
+   /** Adds member to the group for key, creating the group if needed. */
+   void add(long key, int member) {
+      int slot = (int) (key ^ (key >>> 29) ^ (key >>> 41)) * 0x9E3779B9;
+      slot = (slot ^ (slot >>> 15)) & mask;
+      while (slotStamp[slot] == generation && slotKey[slot] != key) {
+         slot = (slot + 1) & mask;
+      }
+      int g;
+      if (slotStamp[slot] != generation) {
+         g = groups;
+         groups++;
+         slotStamp[slot] = generation;
+         slotKey[slot] = key;
+         slotGroup[slot] = g;
+         groupKey[g] = key;
+         head[g] = -1;
+         tail[g] = member;
+         count[g] = 0;
+      }
+      else {
+         g = slotGroup[slot];
+      }
+      next[member] = head[g];
+      head[g] = member;
+      count[g]++;
+   }
+
+   /** Returns the number of groups, numbered 0 to groups() - 1. */
+   int groups() {
+      return groups;
+   }
+
+   /** Returns the key of group g. */
+   long key(int g) {
+      return groupKey[g];
+   }
+
+   /** Returns the number of members of group g. */
+   int count(int g) {
+      return count[g];
+   }
+
+   /**
+    * Returns the member most recently added to group g; the others
+    * follow through next, newest first.
+    */
+   int first(int g) {
+      return head[g];
+   }
+
+   /** Returns the member first added to group g. */
+   int oldest(int g) {
+      return tail[g];
+   }
+
+   /** Returns the member after member in its group, or -1. */
+   int next(int member) {
+      return next[member];
+   }
+}
@@ -0,0 +1,60 @@
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+/**
+ * ExtractionEvent.java. A Java Flight Recorder event for one call to
+ * Extractor.getLinesFast. The event's own duration is the wall time of
+ * the call; the phase fields are filled in only when metrics are enabled
+ * on the Extractor. When no recording asks for the event, creating and
+ * discarding it costs next to nothing.
+ *
+ * @author  Li-Kai Lin
+ * @version 2026-10-18
+ *
+ */
+@Name("Extractor.Extraction")
+@Label("Line Extraction")
+@Category("Extractor")
+@Description("One call to Extractor.getLinesFast")
+final class ExtractionEvent extends jdk.jfr.Event {
+
+   @Label("Points")
+   int points;
+
+   @Label("Lines Found")
+   int linesFound;
+
+   @Label("Metrics Enabled")
+   boolean metricsEnabled;
+
+   @Label("Copy Time")
+   @Timespan(Timespan.NANOSECONDS)
+   long copyNanos;
+
+   @Label("Sort Time")
+   @Timespan(Timespan.NANOSECONDS)
+   long sortNanos;
+
+   @Label("Scan Time")
+   @Timespan(Timespan.NANOSECONDS)
+   long scanNanos;
+
+   @Label("Build Time")
+   @Timespan(Timespan.NANOSECONDS)
+   long buildNanos;
+
+   @Label("Insert Time")
+   @Timespan(Timespan.NANOSECONDS)
+   long insertNanos;
+
+   @Label("Comparisons")
+   long comparisons;
+
+   @Label("Allocated")
+   @DataAmount
+   long allocatedBytes;
+}
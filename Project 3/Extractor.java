@@ -1,10 +1,18 @@
-import java.io.File;
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.Iterator;
-import java.util.Scanner;
+import java.util.List;
+import java.util.Map;
 import java.util.SortedSet;
 import java.util.TreeSet;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
 
 /**
  * Extractor.java. Implements feature extraction for collinear points in
@@ -21,30 +29,34 @@ public class Extractor {
    
    /** lines identified from raw data. */
    private SortedSet<Line> lines;
+
+   /** time taken to read the points from a file, or 0. */
+   private long loadNanos;
+
+   /** whether getLinesFast records metrics, and those of its last call. */
+   private boolean metricsEnabled;
+   private ExtractorMetrics metrics;
   
    /**
-    * Builds an extractor based on the points in the file named by filename. 
+    * Builds an extractor based on the points in the file named by filename,
+    * which is in either format that PointFiles reads. Throws an
+    * IllegalArgumentException if the file cannot be read or is not well
+    * formed.
     */
    public Extractor(String filename) {
+      long start = System.nanoTime();
+      PointStore store;
       try {
-         Scanner f1 = new Scanner(new File(filename));
-            //read the first line of the file
-         int numPoint = f1.nextInt();
-            //instantiate the point array
-         points = new Point[numPoint];
-         int i = 0;
-         while (i < numPoint) {
-            int x = f1.nextInt();
-            int y = f1.nextInt();
-               //instantiate a point
-            points[i] = new Point(x, y);
-            i++;
-         }
-      }   
-      catch (Exception e) {
-         System.out.println("ERROR");
+         store = PointFiles.read(Paths.get(filename));
       }
-   
+      catch (IOException e) {
+         throw new IllegalArgumentException("Error.", e);
+      }
+      points = new Point[store.size()];
+      for (int i = 0; i < points.length; i++) {
+         points[i] = store.point(i);
+      }
+      loadNanos = System.nanoTime() - start;
    }
   
    /**
@@ -106,59 +118,319 @@ public class Extractor {
    
 
    public SortedSet<Line> getLinesFast() {
+      ExtractionEvent event = new ExtractionEvent();
+      event.begin();
+      ExtractorMetrics.Recorder rec = metricsEnabled ? new ExtractorMetrics.Recorder() : null;
       lines = new TreeSet<Line>();
+      if (points.length >= 4) {
+         Point[] pointSl = Arrays.<Point>copyOf(points, points.length);
+         //ascending order
+         Arrays.sort(points);
+         if (rec != null) {
+            rec.copied();
+         }
+         for (int i = 0; i < points.length; i++) {
+            addLinesThrough(points[i], pointSl, lines, rec);
+         }
+      }
+      if (rec != null) {
+         metrics = rec.finish(loadNanos, lines.size());
+      }
+      event.end();
+      if (event.shouldCommit()) {
+         event.points = points.length;
+         event.linesFound = lines.size();
+         if (rec != null) {
+            event.metricsEnabled = true;
+            event.copyNanos = metrics.getCopyNanos();
+            event.sortNanos = metrics.getSortNanos();
+            event.scanNanos = metrics.getScanNanos();
+            event.buildNanos = metrics.getBuildNanos();
+            event.insertNanos = metrics.getInsertNanos();
+            event.comparisons = metrics.getComparisons();
+            event.allocatedBytes = metrics.getAllocatedBytes();
+         }
+         event.commit();
+      }
+      return lines;
+   }
+
+   /**
+    * Turns recording of metrics by getLinesFast on or off. Off by default.
+    */
+   public void setMetricsEnabled(boolean enabled) {
+      metricsEnabled = enabled;
+   }
+
+   /**
+    * Returns the metrics of the last call to getLinesFast made while
+    * metrics were enabled, or null if there was no such call.
+    */
+   public ExtractorMetrics getMetrics() {
+      return metrics;
+   }
+
+   /**
+    * Returns the same set as getLinesFast, but shares the anchor points
+    * out among the threads of the common fork/join pool.
+    */
+   public SortedSet<Line> getLinesFastParallel() {
+      return getLinesFastParallel(ForkJoinPool.commonPool());
+   }
+
+   /**
+    * Returns the same set as getLinesFast, but shares the anchor points
+    * out among the threads of pool. Each task sorts its own copy of the
+    * points and collects its own set of lines; the sets are merged at the
+    * end.
+    */
+   public SortedSet<Line> getLinesFastParallel(ForkJoinPool pool) {
       if (points.length < 4) {
+         lines = new TreeSet<Line>();
          return lines;
       }
-      Point[] pointSl = Arrays.<Point>copyOf(points, points.length);
-      //ascending order
       Arrays.sort(points);
-      for (int i = 0; i < points.length; i++) {
-         Arrays.<Point>sort(pointSl, points[i].slopeOrder);
-         double[] sl = new double[pointSl.length];
-         for (int j = 0; j < sl.length; j++) {
-            sl[j] = pointSl[j].slopeTo(points[i]);
+      //a few tasks per thread, so uneven anchors even out
+      int grain = Math.max(1, points.length / (8 * pool.getParallelism()));
+      lines = pool.invoke(new AnchorTask(points, 0, points.length, grain));
+      return lines;
+   }
+
+   //adds to found the lines of four or more points that go through anchor,
+   //reordering the points in pointSl as scratch space. Slopes are sorted
+   //and compared exactly, with no division. Records metrics in rec unless
+   //it is null.
+   private void addLinesThrough(Point anchor, Point[] pointSl, SortedSet<Line> found,
+                                ExtractorMetrics.Recorder rec) {
+      Comparator<Point> bySlope = anchor.exactSlopeOrder();
+      if (rec != null) {
+         rec.scanned();
+         bySlope = rec.counting(bySlope);
+      }
+      Arrays.<Point>sort(pointSl, bySlope);
+      if (rec != null) {
+         rec.sorted();
+      }
+      //begin
+      int beg = 0;
+      //ending
+      int ed = 0;
+      //current points
+      int now = 0;
+      while (now < pointSl.length - 1) {
+         if (pointSl[now].compareTo(anchor) < 0) {
+            while (now + 1 < pointSl.length 
+                  && bySlope.compare(pointSl[now], pointSl[now + 1]) == 0) {
+               now++;
+            }
+            beg = now;
+            ed = now;
+            if (now == pointSl.length - 1) {
+               break;
+            }
+         }
+         //same slope from the anchor as the next point
+         if (bySlope.compare(pointSl[now], pointSl[now + 1]) == 0) {
+            ed++;
          }
-         //begin
-         int beg = 0;
-         //ending
-         int ed = 0;
-         //current points
-         int now = 0;
-         while (now < pointSl.length - 1) {
-            if (pointSl[now].compareTo(points[i]) < 0) {
-               while (now + 1 < pointSl.length 
-                        && pointSl[now].slopeTo(points[i]) == pointSl[now + 1].slopeTo(points[i])) {
-                  now++;
+         else {
+            if (ed - beg + 1 >= 3) {
+               addLine(pointSl, anchor, beg, ed, found, rec);
+            }
+            beg = ++ed;
+         }
+         now++;
+      }
+      if (ed - beg + 1 >= 3) {
+         addLine(pointSl, anchor, beg, ed, found, rec);
+      }
+   }
+
+   //builds the line of anchor and pointSl[beg..ed] and adds it to found
+   private void addLine(Point[] pointSl, Point anchor, int beg, int ed,
+                        SortedSet<Line> found, ExtractorMetrics.Recorder rec) {
+      if (rec == null) {
+         found.add(lineBuilder(pointSl, anchor, beg, ed));
+         return;
+      }
+      rec.scanned();
+      Line line = lineBuilder(pointSl, anchor, beg, ed);
+      rec.built();
+      found.add(line);
+      rec.inserted();
+   }
+
+   /**
+    * Returns a sorted set of all line segments of at least four collinear
+    * points, the same set as getLinesFast. Instead of sorting the other
+    * points by slope for every point, groups them by their exact direction
+    * key (Point.directionTo) in a hash table, so the running time is
+    * expected O(n^2) and no floating point slopes are compared.
+    */
+   public SortedSet<Line> getLinesHashed() {
+      lines = new TreeSet<Line>();
+      if (points.length < 4) {
+         return lines;
+      }
+      Point[] sorted = Arrays.<Point>copyOf(points, points.length);
+      //ascending order, so a line is emitted only from its first point
+      Arrays.sort(sorted);
+      DirectionTable table = new DirectionTable(sorted.length);
+      for (int i = 0; i < sorted.length; i++) {
+         table.clear();
+         for (int j = 0; j < sorted.length; j++) {
+            long key = sorted[i].directionTo(sorted[j]);
+            //skip this point and any duplicate of it
+            if (key != 0) {
+               table.add(key, j);
+            }
+         }
+         for (int g = 0; g < table.groups(); g++) {
+            //members were added in ascending order, so the oldest is the
+            //smallest; a smaller point means the line was already emitted
+            if (table.count(g) < 3 || table.oldest(g) < i) {
+               continue;
+            }
+            Line line = new Line();
+            line.add(sorted[i]);
+            for (int m = table.first(g); m != -1; m = table.next(m)) {
+               line.add(sorted[m]);
+            }
+            if (line.length() >= 4) {
+               lines.add(line);
+            }
+         }
+      }
+      return lines;
+   }
+
+   /**
+    * Returns a sorted set of all line segments of at least four collinear
+    * points in which each point is within maxSpan of the next, in both x
+    * and y. Points are bucketed into square tiles of side maxSpan, so
+    * each point is compared only with points in its own and the eight
+    * neighboring tiles. Segments crossing tile borders are stitched
+    * together line by line. The work is roughly linear in the number of
+    * points when few points share a tile. If maxSpan covers all the
+    * points, the result is the set getLinesFast returns.
+    */
+   public SortedSet<Line> getLinesTiled(int maxSpan) {
+      if (maxSpan < 1) {
+         throw new IllegalArgumentException("Error.");
+      }
+      lines = new TreeSet<Line>();
+      if (points.length < 4) {
+         return lines;
+      }
+      Map<Long, List<Point>> tiles = new HashMap<Long, List<Point>>();
+      for (Point p : points) {
+         tiles.computeIfAbsent(tile(p.getX() / maxSpan, p.getY() / maxSpan),
+                               t -> new ArrayList<Point>()).add(p);
+      }
+
+      //every close pair puts both its points on the line through them
+      Map<LineKey, List<Point>> onLine = new HashMap<LineKey, List<Point>>();
+      for (Map.Entry<Long, List<Point>> entry : tiles.entrySet()) {
+         long here = entry.getKey();
+         int tx = (int) (here >> 32);
+         int ty = (int) here;
+         List<Point> inside = entry.getValue();
+         for (int dx = -1; dx <= 1; dx++) {
+            for (int dy = -1; dy <= 1; dy++) {
+               long there = tile(tx + dx, ty + dy);
+               List<Point> near = tiles.get(there);
+               //visit each pair of tiles once
+               if (near == null || there < here) {
+                  continue;
                }
-               beg = now;
-               ed = now;
-               if (now == pointSl.length - 1) {
-                  break;
+               for (int i = 0; i < inside.size(); i++) {
+                  Point p = inside.get(i);
+                  for (int j = (there == here) ? i + 1 : 0; j < near.size(); j++) {
+                     Point q = near.get(j);
+                     if (span(p, q) > maxSpan || p.equals(q)) {
+                        continue;
+                     }
+                     List<Point> members = onLine.computeIfAbsent(
+                        new LineKey(p.directionTo(q), p), k -> new ArrayList<Point>());
+                     members.add(p);
+                     members.add(q);
+                  }
                }
             }
-            //m1 is the first slope
-            double m1 = pointSl[now].slopeTo(points[i]);
-            //m2 is the second slope
-            double m2 = pointSl[now + 1].slopeTo(points[i]);
-            if (m1 == m2) {
-               ed++;
-            }
-            else {
-               if (ed - beg + 1 >= 3) {
-                  lines.add(lineBuilder(pointSl, points[i], beg, ed));
+         }
+      }
+
+      //ascending order is order along a line; cut it where a gap is too wide
+      for (List<Point> members : onLine.values()) {
+         if (members.size() < 4) {
+            continue;
+         }
+         Collections.sort(members);
+         Line line = new Line();
+         Point previous = null;
+         for (Point p : members) {
+            if (previous != null && span(previous, p) > maxSpan) {
+               if (line.length() >= 4) {
+                  lines.add(line);
                }
-               beg = ++ed;
+               line = new Line();
             }
-            now++;
+            line.add(p);
+            previous = p;
          }
-         if (ed - beg + 1 >= 3) {
-            lines.add(lineBuilder(pointSl, points[i], beg, ed));
+         if (line.length() >= 4) {
+            lines.add(line);
          }
       }
       return lines;
    }
 
+   //key of the tile in column tx and row ty
+   private static long tile(int tx, int ty) {
+      return ((long) tx << 32) | (ty & 0xFFFFFFFFL);
+   }
+
+   //distance between p and q along the axis on which they are farther apart
+   private static long span(Point p, Point q) {
+      return Math.max(Math.abs((long) p.getX() - q.getX()),
+                      Math.abs((long) p.getY() - q.getY()));
+   }
+
+   /**
+    * Finds the lines through the anchor points sorted[lo..hi), splitting
+    * the range in half until it is no longer than grain.
+    */
+   private final class AnchorTask extends RecursiveTask<SortedSet<Line>> {
+      private static final long serialVersionUID = 1L;
+      private final Point[] sorted;
+      private final int lo;
+      private final int hi;
+      private final int grain;
+
+      AnchorTask(Point[] sorted, int lo, int hi, int grain) {
+         this.sorted = sorted;
+         this.lo = lo;
+         this.hi = hi;
+         this.grain = grain;
+      }
+
+      @Override
+      protected SortedSet<Line> compute() {
+         if (hi - lo <= grain) {
+            SortedSet<Line> found = new TreeSet<Line>();
+            Point[] pointSl = Arrays.<Point>copyOf(sorted, sorted.length);
+            for (int i = lo; i < hi; i++) {
+               addLinesThrough(sorted[i], pointSl, found, null);
+            }
+            return found;
+         }
+         int mid = (lo + hi) >>> 1;
+         AnchorTask left = new AnchorTask(sorted, lo, mid, grain);
+         left.fork();
+         SortedSet<Line> found = new AnchorTask(sorted, mid, hi, grain).compute();
+         found.addAll(left.join());
+         return found;
+      }
+   }
 
-   
 }
@@ -0,0 +1,187 @@
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * ExtractorBenchmark.java. Measures how the line extraction engines of
+ * Extractor (brute force, fast, hashed, parallel) and PackedExtractor
+ * scale with the number of points, over several point distributions.
+ *
+ * For every case the harness warms the code up, then runs it repeatedly
+ * for a fixed time (at least once) and prints the throughput, the
+ * average time per call and the bytes allocated per call by the calling
+ * thread. At the end it prints, for each distribution, the smallest size
+ * at which getLinesFast beat getLinesBrute. Run it with
+ *
+ *    javac *.java && java ExtractorBenchmark [maxSize] [maxBruteSize] [millisPerCase]
+ *
+ * Sizes go 10, 20, 50, 100, ... up to maxSize (default 1e4; 1e5
+ * takes hours, as getLinesFast is O(n^2 log n)). getLinesBrute is O(n^4)
+ * and is run only up to maxBruteSize (default 200). Work done on
+ * fork/join worker threads is timed but its allocation is not counted.
+ *
+ * @author  Li-Kai Lin
+ * @version 2026-10-18
+ *
+ */
+public final class ExtractorBenchmark {
+
+   /** point distributions of the generated sets. */
+   private enum Distribution { UNIFORM, GRID, MANY_COLLINEAR, ALL_COLLINEAR }
+
+   /** points on each line of a MANY_COLLINEAR set. */
+   private static final int POINTS_PER_LINE = 8;
+
+   /** keeps results live so the JIT cannot drop the work. */
+   private static volatile long sink;
+
+   private static long millisPerCase = 500;
+
+   /**
+    * Can't instantiate this class.
+    */
+   private ExtractorBenchmark() { }
+
+   /**
+    * Drives execution.
+    */
+   public static void main(String[] args) {
+      int maxSize = (args.length > 0) ? (int) Double.parseDouble(args[0]) : 10_000;
+      int maxBruteSize = (args.length > 1) ? (int) Double.parseDouble(args[1]) : 200;
+      if (args.length > 2) {
+         millisPerCase = Long.parseLong(args[2]);
+      }
+
+      Map<Distribution, Integer> crossover = new EnumMap<Distribution, Integer>(Distribution.class);
+      System.out.printf("%-32s %-15s %8s %8s %14s %16s %14s%n",
+                        "method", "dist", "n", "lines", "ops/s", "ns/op", "B/op");
+      for (int n : sizes(maxSize)) {
+         for (Distribution dist : Distribution.values()) {
+            List<Point> points = generate(n, dist);
+            Extractor extractor = new Extractor(points);
+            PointStore store = new PointStore(points);
+
+            double fast = report("Extractor.getLinesFast", dist, n,
+               () -> extractor.getLinesFast().size());
+            report("Extractor.getLinesHashed", dist, n, () -> extractor.getLinesHashed().size());
+            report("Extractor.getLinesFastParallel", dist, n,
+               () -> extractor.getLinesFastParallel().size());
+            report("PackedExtractor.getLines", dist, n,
+               () -> new PackedExtractor(store).getLines().size());
+            if (n <= maxBruteSize) {
+               double brute = report("Extractor.getLinesBrute", dist, n,
+                  () -> extractor.getLinesBrute().size());
+               if (fast < brute && !crossover.containsKey(dist)) {
+                  crossover.put(dist, n);
+               }
+            }
+         }
+      }
+
+      System.out.println();
+      for (Distribution dist : Distribution.values()) {
+         Integer n = crossover.get(dist);
+         System.out.printf("%-15s getLinesFast beats getLinesBrute from n = %s%n", dist,
+                           (n == null) ? "(not within maxBruteSize)" : n.toString());
+      }
+   }
+
+   //10, 20, 50, 100, 200, 500, ... up to max
+   private static List<Integer> sizes(int max) {
+      List<Integer> sizes = new ArrayList<Integer>();
+      for (long decade = 10; decade <= max; decade *= 10) {
+         for (int step : new int[] {1, 2, 5}) {
+            if (decade * step <= max) {
+               sizes.add((int) (decade * step));
+            }
+         }
+      }
+      return sizes;
+   }
+
+   /** A benchmarked call; returns something derived from its result. */
+   private interface Op {
+      long run();
+   }
+
+   //prints one case and returns its average nanoseconds per call
+   private static double report(String name, Distribution dist, int n, Op op) {
+      //warm up for half the measuring time
+      long end = System.nanoTime() + millisPerCase * 500_000L;
+      long lines = 0;
+      do {
+         lines = op.run();
+      } while (System.nanoTime() < end);
+      sink += lines;
+
+      long bytes = Allocations.allocatedBytes();
+      long start = System.nanoTime();
+      end = start + millisPerCase * 1_000_000L;
+      long calls = 0;
+      long now;
+      do {
+         sink += op.run();
+         calls++;
+         now = System.nanoTime();
+      } while (now < end);
+      bytes = Allocations.allocatedBytes() - bytes;
+
+      double nanosPerCall = (double) (now - start) / calls;
+      System.out.printf("%-32s %-15s %8d %8d %14.3f %16.0f %14d%n",
+                        name, dist, n, lines, 1e9 / nanosPerCall, nanosPerCall, bytes / calls);
+      return nanosPerCall;
+   }
+
+   //n distinct points; duplicates are not a case getLinesFast handles
+   private static List<Point> generate(int n, Distribution dist) {
+      Random random = new Random(42);
+      Set<Long> seen = new HashSet<Long>();
+      List<Point> points = new ArrayList<Point>(n);
+      int side = (int) Math.ceil(Math.sqrt(n));
+      //start and step of the current MANY_COLLINEAR line
+      int lineX = 0;
+      int lineY = 0;
+      int lineDx = 0;
+      int lineDy = 0;
+      int i = 0;
+      while (points.size() < n) {
+         int x;
+         int y;
+         switch (dist) {
+            case GRID:
+               x = i % side;
+               y = i / side;
+               break;
+            case MANY_COLLINEAR:
+               //short lines in random directions from random starts
+               int step = i % POINTS_PER_LINE;
+               if (step == 0) {
+                  lineX = random.nextInt(1 << 20);
+                  lineY = random.nextInt(1 << 20);
+                  lineDx = 1 + random.nextInt(64);
+                  lineDy = 1 + random.nextInt(64);
+               }
+               x = lineX + step * lineDx;
+               y = lineY + step * lineDy;
+               break;
+            case ALL_COLLINEAR:
+               x = 3 * i;
+               y = 2 * i;
+               break;
+            default:
+               x = random.nextInt(1 << 20);
+               y = random.nextInt(1 << 20);
+               break;
+         }
+         i++;
+         if (seen.add(((long) x << 32) | y)) {
+            points.add(new Point(x, y));
+         }
+      }
+      return points;
+   }
+}
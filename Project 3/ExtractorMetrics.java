@@ -0,0 +1,172 @@
+import java.util.Comparator;
+
+/**
+ * ExtractorMetrics.java. A snapshot of where one call to
+ * Extractor.getLinesFast spent its time and memory: wall time per phase,
+ * slope comparisons, bytes allocated by the calling thread, and lines
+ * built and kept. Times are in nanoseconds. Metrics are recorded only
+ * while they are enabled on the Extractor; otherwise the extractor pays
+ * one null check per phase.
+ *
+ * @author  Li-Kai Lin
+ * @version 2026-10-18
+ *
+ */
+public final class ExtractorMetrics {
+
+   private final long loadNanos;
+   private final long copyNanos;
+   private final long sortNanos;
+   private final long scanNanos;
+   private final long buildNanos;
+   private final long insertNanos;
+   private final long comparisons;
+   private final long allocatedBytes;
+   private final long linesBuilt;
+   private final int linesFound;
+
+   private ExtractorMetrics(Recorder r, long loadNanos, int linesFound) {
+      this.loadNanos = loadNanos;
+      this.copyNanos = r.copyNanos;
+      this.sortNanos = r.sortNanos;
+      this.scanNanos = r.scanNanos;
+      this.buildNanos = r.buildNanos;
+      this.insertNanos = r.insertNanos;
+      this.comparisons = r.comparisons;
+      this.allocatedBytes = r.allocatedBytes;
+      this.linesBuilt = r.linesBuilt;
+      this.linesFound = linesFound;
+   }
+
+   /** Returns the time taken to read the points from a file, or 0. */
+   public long getLoadNanos() {
+      return loadNanos;
+   }
+
+   /** Returns the time taken to copy and sort the points once. */
+   public long getCopyNanos() {
+      return copyNanos;
+   }
+
+   /** Returns the time taken sorting the points by slope, all anchors. */
+   public long getSortNanos() {
+      return sortNanos;
+   }
+
+   /** Returns the time taken scanning sorted points for runs. */
+   public long getScanNanos() {
+      return scanNanos;
+   }
+
+   /** Returns the time taken building Lines from runs. */
+   public long getBuildNanos() {
+      return buildNanos;
+   }
+
+   /** Returns the time taken inserting Lines into the result set. */
+   public long getInsertNanos() {
+      return insertNanos;
+   }
+
+   /** Returns the number of slope comparisons made. */
+   public long getComparisons() {
+      return comparisons;
+   }
+
+   /** Returns the bytes allocated by the calling thread, or 0 if unknown. */
+   public long getAllocatedBytes() {
+      return allocatedBytes;
+   }
+
+   /** Returns the number of Lines built, including duplicates. */
+   public long getLinesBuilt() {
+      return linesBuilt;
+   }
+
+   /** Returns the number of distinct lines found. */
+   public int getLinesFound() {
+      return linesFound;
+   }
+
+   /**
+    * Return a string representation of this snapshot.
+    */
+   @Override
+   public String toString() {
+      return "load=" + loadNanos + "ns copy=" + copyNanos + "ns sort=" + sortNanos
+         + "ns scan=" + scanNanos + "ns build=" + buildNanos + "ns insert=" + insertNanos
+         + "ns comparisons=" + comparisons + " allocated=" + allocatedBytes
+         + "B linesBuilt=" + linesBuilt + " linesFound=" + linesFound;
+   }
+
+   /**
+    * Accumulates the metrics of one extraction on one thread.
+    */
+   static final class Recorder {
+      private long copyNanos;
+      private long sortNanos;
+      private long scanNanos;
+      private long buildNanos;
+      private long insertNanos;
+      private long comparisons;
+      private long allocatedBytes;
+      private long linesBuilt;
+
+      /** the start of the call, and of the current phase. */
+      private final long startBytes;
+      private long mark;
+
+      Recorder() {
+         startBytes = Allocations.allocatedBytes();
+         mark = System.nanoTime();
+      }
+
+      /** Ends the copy phase. */
+      void copied() {
+         copyNanos += lap();
+      }
+
+      /** Ends a sort phase. */
+      void sorted() {
+         sortNanos += lap();
+      }
+
+      /** Ends a scan phase. */
+      void scanned() {
+         scanNanos += lap();
+      }
+
+      /** Ends the building of a line. */
+      void built() {
+         buildNanos += lap();
+         linesBuilt++;
+      }
+
+      /** Ends the insertion of a line. */
+      void inserted() {
+         insertNanos += lap();
+      }
+
+      /** Returns comp, wrapped so that its calls are counted. */
+      <T> Comparator<T> counting(Comparator<T> comp) {
+         return (a, b) -> {
+            comparisons++;
+            return comp.compare(a, b);
+         };
+      }
+
+      /** Ends the extraction and returns its snapshot. */
+      ExtractorMetrics finish(long loadNanos, int linesFound) {
+         scanned();
+         allocatedBytes = Math.max(0, Allocations.allocatedBytes() - startBytes);
+         return new ExtractorMetrics(this, loadNanos, linesFound);
+      }
+
+      private long lap() {
+         long now = System.nanoTime();
+         long elapsed = now - mark;
+         mark = now;
+         return elapsed;
+      }
+   }
+}
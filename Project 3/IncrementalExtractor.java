@@ -0,0 +1,185 @@
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedSet;
+import java.util.TreeSet;
+
+/**
+ * IncrementalExtractor.java. Implements feature extraction for collinear
+ * points that arrive and leave over time. Keeps every line of four or
+ * more collinear points up to date as points are added and removed,
+ * instead of extracting the lines again from scratch.
+ *
+ * Adding a point groups the points already present by their direction
+ * from it, which takes expected time linear in the number of points.
+ * Removing a point touches only the lines it was on. A point may be
+ * added more than once; it is removed when it has been removed as many
+ * times as it was added.
+ *
+ * @author  Li-Kai Lin
+ * @version 2026-10-18
+ *
+ */
+public class IncrementalExtractor {
+
+   /** the points present, by packed coordinates. */
+   private final Map<Long, Entry> entries = new HashMap<Long, Entry>();
+
+   /** the same points, in no order, for scanning. */
+   private final List<Entry> present = new ArrayList<Entry>();
+
+   /** the points of every line of four or more points, by line. */
+   private final Map<LineKey, SortedSet<Point>> lines = new HashMap<LineKey, SortedSet<Point>>();
+
+   /** scratch space for grouping points by direction. */
+   private DirectionTable table = new DirectionTable(16);
+   private int tableCapacity = 16;
+
+   /**
+    * Builds an extractor with no points.
+    */
+   public IncrementalExtractor() {
+   }
+
+   /**
+    * Builds an extractor holding the points in pcoll.
+    */
+   public IncrementalExtractor(Collection<Point> pcoll) {
+      for (Point p : pcoll) {
+         addPoint(p);
+      }
+   }
+
+   /**
+    * Adds the point p, and p to every line of four or more points that
+    * it now lies on.
+    */
+   public void addPoint(Point p) {
+      if (p == null) {
+         throw new IllegalArgumentException("Error.");
+      }
+      Entry entry = entries.get(key(p));
+      if (entry != null) {
+         entry.count++;
+         return;
+      }
+      entry = new Entry(p, present.size());
+
+      int n = present.size();
+      if (n > tableCapacity) {
+         tableCapacity = Math.max(n, 2 * tableCapacity);
+         table = new DirectionTable(tableCapacity);
+      }
+      table.clear();
+      for (int i = 0; i < n; i++) {
+         table.add(p.directionTo(present.get(i).point), i);
+      }
+      for (int g = 0; g < table.groups(); g++) {
+         if (table.count(g) < 3) {
+            continue;
+         }
+         LineKey line = new LineKey(table.key(g), p);
+         SortedSet<Point> members = lines.get(line);
+         if (members == null) {
+            //three points already on this line make a new line with p
+            members = new TreeSet<Point>();
+            for (int m = table.first(g); m != -1; m = table.next(m)) {
+               Entry other = present.get(m);
+               members.add(other.point);
+               other.lines.add(line);
+            }
+            lines.put(line, members);
+         }
+         members.add(p);
+         entry.lines.add(line);
+      }
+
+      entries.put(key(p), entry);
+      present.add(entry);
+   }
+
+   /**
+    * Removes the point p once. Returns true if p was present, false
+    * otherwise. Lines left with fewer than four points are dropped.
+    */
+   public boolean removePoint(Point p) {
+      if (p == null) {
+         throw new IllegalArgumentException("Error.");
+      }
+      Entry entry = entries.get(key(p));
+      if (entry == null) {
+         return false;
+      }
+      entry.count--;
+      if (entry.count > 0) {
+         return true;
+      }
+
+      for (LineKey line : entry.lines) {
+         SortedSet<Point> members = lines.get(line);
+         members.remove(p);
+         if (members.size() < 4) {
+            lines.remove(line);
+            for (Point q : members) {
+               entries.get(key(q)).lines.remove(line);
+            }
+         }
+      }
+
+      entries.remove(key(p));
+      Entry last = present.remove(present.size() - 1);
+      if (last != entry) {
+         last.slot = entry.slot;
+         present.set(entry.slot, last);
+      }
+      return true;
+   }
+
+   /**
+    * Returns true if p is present, false otherwise.
+    */
+   public boolean contains(Point p) {
+      return p != null && entries.containsKey(key(p));
+   }
+
+   /**
+    * Returns the number of distinct points present.
+    */
+   public int size() {
+      return present.size();
+   }
+
+   /**
+    * Returns a sorted set of all line segments of at least four collinear
+    * points among the points present, the same set that
+    * Extractor.getLinesFast returns for those points. Returns an empty
+    * set if there are no qualifying line segments.
+    */
+   public SortedSet<Line> getLines() {
+      SortedSet<Line> found = new TreeSet<Line>();
+      for (SortedSet<Point> members : lines.values()) {
+         found.add(new Line(members));
+      }
+      return found;
+   }
+
+   private static long key(Point p) {
+      return ((long) p.getY() << 32) | p.getX();
+   }
+
+   /** A point present, how many times, and the lines it is on. */
+   private static final class Entry {
+      private final Point point;
+      private int count;
+      private int slot;
+      private final List<LineKey> lines = new ArrayList<LineKey>(2);
+
+      Entry(Point point, int slot) {
+         this.point = point;
+         this.slot = slot;
+         this.count = 1;
+      }
+   }
+}
@@ -1,4 +1,5 @@
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.SortedSet;
 import java.util.TreeSet;
@@ -14,6 +15,10 @@ import java.util.TreeSet;
 public class Line implements Comparable<Line>, Iterable<Point> {
  
    SortedSet<Point> line;
+
+   /** cached minimum and maximum points of line, null while it is empty. */
+   private Point first;
+   private Point last;
    
    /** 
     * Creates a new line containing no points.
@@ -45,28 +50,34 @@ public class Line implements Comparable<Line>, Iterable<Point> {
          return false;
       }
       else if (this.length() == 1 || this.length() == 0) {
-         line.add(p);
+         insert(p);
       }
       else {
-         double slope = first().slopeTo(last());
-         if (slope == p.slopeTo(last())) {
-            line.add(p);
+         //exact test: p is on the line if last sees first and p at one slope
+         if (last().exactSlopeOrder().compare(first(), p) == 0) {
+            insert(p);
          }  
       }
       return true;
    }
+
+   //adds p to line and keeps the cached endpoints current
+   private void insert(Point p) {
+      line.add(p);
+      if (first == null || p.compareTo(first) < 0) {
+         first = p;
+      }
+      if (last == null || p.compareTo(last) > 0) {
+         last = p;
+      }
+   }
    
    /** 
     * Returns the first (minimum) point in this line or null if this line
     * contains no points.
     */
    public Point first() {
-      if (length() == 0) {
-         return null;
-      }
-      else {
-         return this.line.first();
-      } 
+      return first;
    }
    
    /** 
@@ -74,23 +85,14 @@ public class Line implements Comparable<Line>, Iterable<Point> {
     * contains no points.
     */
    public Point last() {
-      if (length() == 0) {
-         return null;
-      }
-      else {
-         return this.line.last();
-      } 
+      return last;
    }
    
    /** 
     * Returns the number of points in this line.
     */
    public int length() {
-      int len = 0; 
-      for (Point point : line) {
-         len++;
-      }
-      return len;
+      return line.size();
    }
 
 
@@ -119,11 +121,12 @@ public class Line implements Comparable<Line>, Iterable<Point> {
 
    /** 
     * Provide an iterator over all the points in this line. The order in which
-    * points are returned must be ascending natural order.
+    * points are returned must be ascending natural order. The iterator
+    * does not support remove, which would leave first and last stale.
     */
    @Override
    public Iterator<Point> iterator() {
-      Iterator<Point> ir = this.line.iterator();
+      Iterator<Point> ir = Collections.unmodifiableSortedSet(this.line).iterator();
       return ir;
    }
    
@@ -179,14 +182,9 @@ public class Line implements Comparable<Line>, Iterable<Point> {
    
    
    
-   //locate the point in a line.   
+   //locate the point in a line; compareTo is consistent with equals.
    private boolean locate(Point p) {
-      for (Point pt : line) {
-         if (pt.equals(p)) {
-            return true;
-         }
-      }
-      return false;
+      return line.contains(p);
    }      
  
 }
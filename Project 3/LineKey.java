@@ -0,0 +1,36 @@
+/**
+ * LineKey.java. Identifies the line through a point in a direction (a
+ * key from Point.directionTo) by the direction and by dy * x - dx * y,
+ * which is the same for every point (x, y) on the line. Two keys are
+ * equal exactly when they name the same line.
+ *
+ * @author  Li-Kai Lin
+ * @version 2026-10-18
+ *
+ */
+final class LineKey {
+
+   private final long direction;
+   private final long offset;
+
+   LineKey(long direction, Point on) {
+      long dx = direction >> 32;
+      long dy = (int) direction;
+      this.direction = direction;
+      this.offset = dy * on.getX() - dx * on.getY();
+   }
+
+   @Override
+   public boolean equals(Object obj) {
+      if (!(obj instanceof LineKey)) {
+         return false;
+      }
+      LineKey that = (LineKey) obj;
+      return direction == that.direction && offset == that.offset;
+   }
+
+   @Override
+   public int hashCode() {
+      return Long.hashCode(direction * 31 + offset);
+   }
+}
@@ -0,0 +1,153 @@
+import java.util.Arrays;
+import java.util.SortedSet;
+import java.util.TreeSet;
+
+/**
+ * PackedExtractor.java. Implements feature extraction for collinear
+ * points held in a PointStore. Works on coordinate arrays and sorts
+ * arrays of point numbers, so no Point objects or comparators are made
+ * except for the points of the lines it returns.
+ *
+ * @author  Li-Kai Lin
+ * @version 2026-10-18
+ *
+ */
+public class PackedExtractor {
+
+   /** runs this short are sorted by insertion. */
+   private static final int INSERTION_SORT_LENGTH = 16;
+
+   /** coordinates of the points, in ascending natural order of Point. */
+   private final int[] xs;
+   private final int[] ys;
+
+   /**
+    * Builds an extractor based on the points in store. Later changes to
+    * store are not seen by this extractor.
+    */
+   public PackedExtractor(PointStore store) {
+      int n = store.size();
+      int[] x = store.xs();
+      int[] y = store.ys();
+      //points are ordered by y and then x, as Point.compareTo orders them
+      long[] keys = new long[n];
+      for (int i = 0; i < n; i++) {
+         keys[i] = ((long) y[i] << 32) | x[i];
+      }
+      Arrays.sort(keys);
+      for (int i = 0; i < n; i++) {
+         x[i] = (int) keys[i];
+         y[i] = (int) (keys[i] >>> 32);
+      }
+      xs = x;
+      ys = y;
+   }
+
+   /**
+    * Returns a sorted set of all line segments of at least four collinear
+    * points, the same set that Extractor.getLinesFast returns for the same
+    * points. For every point the others are ordered by the direction they
+    * lie in, compared exactly with integer cross products, and each run
+    * of three or more in one direction is a line.
+    */
+   public SortedSet<Line> getLines() {
+      SortedSet<Line> lines = new TreeSet<Line>();
+      int n = xs.length;
+      if (n < 4) {
+         return lines;
+      }
+      int[] order = new int[n];
+      int[] tmp = new int[n];
+      int[] dx = new int[n];
+      int[] dy = new int[n];
+      for (int i = 0; i < n; i++) {
+         int m = 0;
+         for (int j = 0; j < n; j++) {
+            int ddx = xs[j] - xs[i];
+            int ddy = ys[j] - ys[i];
+            if (ddx == 0 && ddy == 0) {
+               //this point or a duplicate of it
+               continue;
+            }
+            //turn every direction into the upper half plane
+            if (ddy < 0 || ddy == 0 && ddx < 0) {
+               ddx = -ddx;
+               ddy = -ddy;
+            }
+            dx[j] = ddx;
+            dy[j] = ddy;
+            order[m++] = j;
+         }
+         sortByDirection(order, m, tmp, dx, dy);
+
+         int beg = 0;
+         while (beg < m) {
+            //a run of points in one direction, and the smallest among them
+            int ed = beg + 1;
+            int low = order[beg];
+            while (ed < m && cross(order[beg], order[ed], dx, dy) == 0) {
+               low = Math.min(low, order[ed]);
+               ed++;
+            }
+            //points are numbered in ascending order, so the line is built
+            //only from its smallest point
+            if (ed - beg >= 3 && low > i) {
+               Line line = new Line();
+               line.add(new Point(xs[i], ys[i]));
+               for (int r = beg; r < ed; r++) {
+                  line.add(new Point(xs[order[r]], ys[order[r]]));
+               }
+               if (line.length() >= 4) {
+                  lines.add(line);
+               }
+            }
+            beg = ed;
+         }
+      }
+      return lines;
+   }
+
+   //positive if direction a comes before direction b, 0 if they are equal;
+   //exact, since each product is below 2^62 in magnitude
+   private static long cross(int a, int b, int[] dx, int[] dy) {
+      return (long) dx[a] * dy[b] - (long) dy[a] * dx[b];
+   }
+
+   //stable bottom-up merge sort of order[0..n) by direction, using tmp
+   private static void sortByDirection(int[] order, int n, int[] tmp, int[] dx, int[] dy) {
+      for (int lo = 0; lo < n; lo += INSERTION_SORT_LENGTH) {
+         int hi = Math.min(lo + INSERTION_SORT_LENGTH, n);
+         for (int i = lo + 1; i < hi; i++) {
+            int v = order[i];
+            int j = i - 1;
+            while (j >= lo && cross(v, order[j], dx, dy) > 0) {
+               order[j + 1] = order[j];
+               j--;
+            }
+            order[j + 1] = v;
+         }
+      }
+      int[] src = order;
+      int[] dst = tmp;
+      for (int width = INSERTION_SORT_LENGTH; width < n; width *= 2) {
+         for (int lo = 0; lo < n; lo += 2 * width) {
+            int mid = Math.min(lo + width, n);
+            int hi = Math.min(lo + 2 * width, n);
+            int a = lo;
+            int b = mid;
+            int k = lo;
+            while (a < mid && b < hi) {
+               dst[k++] = (cross(src[b], src[a], dx, dy) > 0) ? src[b++] : src[a++];
+            }
+            System.arraycopy(src, a, dst, k, mid - a);
+            System.arraycopy(src, b, dst, k + mid - a, hi - b);
+         }
+         int[] t = src;
+         src = dst;
+         dst = t;
+      }
+      if (src != order) {
+         System.arraycopy(src, 0, order, 0, n);
+      }
+   }
+}
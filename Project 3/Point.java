@@ -19,6 +19,11 @@ public final class Point implements Comparable<Point> {
    private final int x;
    private final int y;
 
+   /** kinds of slope, in ascending order, for exactSlopeOrder. */
+   private static final int DEGENERATE = 0;
+   private static final int FINITE = 1;
+   private static final int VERTICAL = 2;
+
    /** 
     * Create a point from the given x and y coordinates. If either x or y is
     * negative, throw an IllegalArgumentException.
@@ -31,6 +36,20 @@ public final class Point implements Comparable<Point> {
       this.y = y;
    }
 
+   /** 
+    * Returns the x coordinate of this point.
+    */
+   public int getX() {
+      return x;
+   }
+
+   /** 
+    * Returns the y coordinate of this point.
+    */
+   public int getY() {
+      return y;
+   }
+
    /** 
     * Return a string representation of this point.
     * 
@@ -109,6 +128,68 @@ public final class Point implements Comparable<Point> {
       }
    }
       
+   /**
+    * Returns the direction of the line through this point and the
+    * specified point as a single long key. Two pairs of points have the
+    * same key exactly when the lines through them are parallel, so the
+    * points collinear with this point share one key. The key is exact:
+    * it is the pair (dx, dy) reduced by their gcd and turned to point
+    * into the upper half plane, packed into 64 bits. The key of a
+    * degenerate pair (this point and an equal point) is 0, which no
+    * other pair has.
+    */
+   public long directionTo(Point that) {
+      return direction((long) that.x - this.x, (long) that.y - this.y);
+   }
+
+   /**
+    * Returns the direction key (see directionTo) of the vector (dx, dy).
+    */
+   static long direction(long dx, long dy) {
+      if (dx == 0 && dy == 0) {
+         return 0;
+      }
+      //binary gcd of |dx| and |dy|, at least one of which is not 0
+      long a = Math.abs(dx);
+      long b = Math.abs(dy);
+      long g;
+      if (a == 0 || b == 0) {
+         g = a | b;
+      }
+      else {
+         int shift = Long.numberOfTrailingZeros(a | b);
+         a >>= Long.numberOfTrailingZeros(a);
+         do {
+            b >>= Long.numberOfTrailingZeros(b);
+            if (a > b) {
+               long t = a;
+               a = b;
+               b = t;
+            }
+            b -= a;
+         } while (b != 0);
+         g = a << shift;
+      }
+      dx /= g;
+      dy /= g;
+      if (dy < 0 || dy == 0 && dx < 0) {
+         dx = -dx;
+         dy = -dy;
+      }
+      return (dx << 32) | (dy & 0xFFFFFFFFL);
+   }
+      
+   /**
+    * Returns a comparator that orders points by the slope each makes with
+    * this point, as slopeOrder does, but compares the slopes by
+    * cross-multiplying integer differences instead of dividing them, so
+    * slopes that differ never compare equal, however large the
+    * coordinates.
+    */
+   public Comparator<Point> exactSlopeOrder() {
+      return new CompareSlopesExactly();
+   }
+
    /**
     * Defines a total order for Points based on the slope that two specified points
     * make with this point.
@@ -139,5 +220,43 @@ public final class Point implements Comparable<Point> {
       }
    
    }
+
+   /**
+    * Defines the same order as ComparePointsBySlope with exact long
+    * arithmetic.
+    */
+   private class CompareSlopesExactly implements Comparator<Point> {
+
+      @Override
+      public int compare(Point p1, Point p2) {
+         int kind1 = kind(p1);
+         int kind2 = kind(p2);
+         if (kind1 != kind2 || kind1 != FINITE) {
+            return Integer.compare(kind1, kind2);
+         }
+         long dx1 = (long) p1.x - x;
+         long dy1 = (long) p1.y - y;
+         long dx2 = (long) p2.x - x;
+         long dy2 = (long) p2.y - y;
+         //make both runs positive, so cross-multiplying keeps the order
+         if (dx1 < 0) {
+            dx1 = -dx1;
+            dy1 = -dy1;
+         }
+         if (dx2 < 0) {
+            dx2 = -dx2;
+            dy2 = -dy2;
+         }
+         return Long.compare(dy1 * dx2, dy2 * dx1);
+      }
+
+      //orders the cases of slopeTo: negative infinity, finite, infinity
+      private int kind(Point that) {
+         if (that.x != x) {
+            return FINITE;
+         }
+         return (that.y == y) ? DEGENERATE : VERTICAL;
+      }
+   }
    
 }
@@ -0,0 +1,197 @@
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * PointFiles.java. Reads and writes files of points.
+ *
+ * The text format is the one Extractor has always read: the number of
+ * points, then the x and y coordinate of each point, all separated by
+ * white space. It is parsed a buffer of bytes at a time rather than with
+ * a Scanner.
+ *
+ * The binary format is the int MAGIC, the number of points, then the x
+ * and y coordinate of each point, all as big-endian 32 bit ints. It is
+ * read by mapping the file into memory.
+ *
+ * Both readers return a PointStore, so no object is made per point, and
+ * throw an IllegalArgumentException if the file is not well formed.
+ *
+ * @author  Li-Kai Lin
+ * @version 2026-10-18
+ *
+ */
+public final class PointFiles {
+
+   /** first int of a binary point file; the bytes "PTS1". */
+   public static final int MAGIC = 0x50545331;
+
+   /** bytes read from a text file at a time. */
+   private static final int BUFFER_SIZE = 1 << 16;
+
+   /** ints mapped from a binary file at a time; a multiple of 2. */
+   private static final int CHUNK_INTS = 1 << 28;
+
+   /**
+    * Can't instantiate this class.
+    */
+   private PointFiles() { }
+
+   /**
+    * Reads the points in the named file, in either format.
+    */
+   public static PointStore read(Path file) throws IOException {
+      try (InputStream in = Files.newInputStream(file)) {
+         byte[] head = in.readNBytes(4);
+         if (head.length == 4 && ((head[0] & 0xFF) << 24 | (head[1] & 0xFF) << 16
+                                  | (head[2] & 0xFF) << 8 | (head[3] & 0xFF)) == MAGIC) {
+            return readBinary(file);
+         }
+      }
+      return readText(file);
+   }
+
+   /**
+    * Reads the points in the named text file.
+    */
+   public static PointStore readText(Path file) throws IOException {
+      try (InputStream in = Files.newInputStream(file)) {
+         Tokenizer tokens = new Tokenizer(in);
+         int n = tokens.nextInt();
+         if (n < 0) {
+            throw new IllegalArgumentException("Error.");
+         }
+         //the count is not trusted to size the store until points arrive
+         PointStore store = new PointStore(Math.min(n, BUFFER_SIZE));
+         for (int i = 0; i < n; i++) {
+            int x = tokens.nextInt();
+            int y = tokens.nextInt();
+            store.add(x, y);
+         }
+         return store;
+      }
+   }
+
+   /**
+    * Reads the points in the named binary file.
+    */
+   public static PointStore readBinary(Path file) throws IOException {
+      try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+         long bytes = channel.size();
+         if (bytes < 8) {
+            throw new IllegalArgumentException("Error.");
+         }
+         IntBuffer head = channel.map(FileChannel.MapMode.READ_ONLY, 0, 8).asIntBuffer();
+         int n = head.get(1);
+         if (head.get(0) != MAGIC || n < 0 || bytes != 8 + 8L * n) {
+            throw new IllegalArgumentException("Error.");
+         }
+         PointStore store = new PointStore(n);
+         int[] pairs = new int[2 * Math.min(n, BUFFER_SIZE)];
+         long remaining = 2L * n;
+         long position = 8;
+         while (remaining > 0) {
+            int ints = (int) Math.min(remaining, CHUNK_INTS);
+            MappedByteBuffer chunk = channel.map(FileChannel.MapMode.READ_ONLY, position, 4L * ints);
+            IntBuffer values = chunk.asIntBuffer();
+            while (values.hasRemaining()) {
+               int count = Math.min(values.remaining(), pairs.length);
+               values.get(pairs, 0, count);
+               for (int i = 0; i < count; i += 2) {
+                  store.add(pairs[i], pairs[i + 1]);
+               }
+            }
+            remaining -= ints;
+            position += 4L * ints;
+         }
+         return store;
+      }
+   }
+
+   /**
+    * Writes the points in store to the named file in the binary format.
+    */
+   public static void writeBinary(Path file, PointStore store) throws IOException {
+      try (DataOutputStream out = new DataOutputStream(
+               new BufferedOutputStream(Files.newOutputStream(file), BUFFER_SIZE))) {
+         out.writeInt(MAGIC);
+         out.writeInt(store.size());
+         for (int i = 0; i < store.size(); i++) {
+            out.writeInt(store.x(i));
+            out.writeInt(store.y(i));
+         }
+      }
+   }
+
+   /**
+    * Splits a stream of ASCII text into decimal ints separated by white
+    * space, reading a buffer of bytes at a time.
+    */
+   private static final class Tokenizer {
+      private final InputStream in;
+      private final byte[] buffer = new byte[BUFFER_SIZE];
+      private int pos;
+      private int end;
+
+      Tokenizer(InputStream in) {
+         this.in = in;
+      }
+
+      //the next byte, or -1 at the end of the stream
+      private int read() throws IOException {
+         if (pos == end) {
+            end = in.read(buffer, 0, buffer.length);
+            pos = 0;
+            if (end <= 0) {
+               end = 0;
+               return -1;
+            }
+         }
+         return buffer[pos++] & 0xFF;
+      }
+
+      int nextInt() throws IOException {
+         int c = read();
+         while (c == ' ' || c == '\n' || c == '\r' || c == '\t' || c == '\f') {
+            c = read();
+         }
+         if (c == -1) {
+            throw new IllegalArgumentException("Error.");
+         }
+         boolean negative = c == '-';
+         if (negative || c == '+') {
+            c = read();
+         }
+         if (c < '0' || c > '9') {
+            throw new IllegalArgumentException("Error.");
+         }
+         //accumulate as a negative number, whose range is the larger one
+         int value = 0;
+         while (c >= '0' && c <= '9') {
+            int digit = c - '0';
+            if (value < (Integer.MIN_VALUE + digit) / 10) {
+               throw new IllegalArgumentException("Error.");
+            }
+            value = value * 10 - digit;
+            c = read();
+         }
+         if (c != -1 && c != ' ' && c != '\n' && c != '\r' && c != '\t' && c != '\f') {
+            throw new IllegalArgumentException("Error.");
+         }
+         if (negative) {
+            return value;
+         }
+         if (value == Integer.MIN_VALUE) {
+            throw new IllegalArgumentException("Error.");
+         }
+         return -value;
+      }
+   }
+}
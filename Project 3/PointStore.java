@@ -0,0 +1,119 @@
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * PointStore.java. Holds two dimensional points in Quadrant I as two
+ * parallel arrays of coordinates instead of as Point objects, so a large
+ * point cloud takes 8 bytes per point and is laid out contiguously.
+ * Points are numbered 0 to size() - 1 in the order they were added.
+ *
+ * @author  Li-Kai Lin
+ * @version 2026-10-18
+ *
+ */
+public final class PointStore {
+
+   /** x,y coordinates of point i are xs[i] and ys[i]. */
+   private int[] xs;
+   private int[] ys;
+   private int size;
+
+   /**
+    * Creates an empty store.
+    */
+   public PointStore() {
+      this(16);
+   }
+
+   /**
+    * Creates an empty store with room for capacity points.
+    */
+   public PointStore(int capacity) {
+      if (capacity < 0) {
+         throw new IllegalArgumentException("Error.");
+      }
+      xs = new int[capacity];
+      ys = new int[capacity];
+   }
+
+   /**
+    * Creates a store holding the points in pcoll, in iteration order.
+    */
+   public PointStore(Collection<Point> pcoll) {
+      this(pcoll.size());
+      for (Point p : pcoll) {
+         add(p.getX(), p.getY());
+      }
+   }
+
+   /**
+    * Adds the point (x, y) and returns its number. If either x or y is
+    * negative, throw an IllegalArgumentException.
+    */
+   public int add(int x, int y) {
+      if (x < 0 || y < 0) {
+         throw new IllegalArgumentException("Error.");
+      }
+      if (size == xs.length) {
+         int capacity = (size == 0) ? 16 : 2 * size;
+         if (capacity < 0) {
+            capacity = Integer.MAX_VALUE - 8;
+            if (size >= capacity) {
+               throw new OutOfMemoryError("Error.");
+            }
+         }
+         xs = Arrays.copyOf(xs, capacity);
+         ys = Arrays.copyOf(ys, capacity);
+      }
+      xs[size] = x;
+      ys[size] = y;
+      return size++;
+   }
+
+   /**
+    * Returns the number of points in this store.
+    */
+   public int size() {
+      return size;
+   }
+
+   /**
+    * Returns the x coordinate of point i.
+    */
+   public int x(int i) {
+      check(i);
+      return xs[i];
+   }
+
+   /**
+    * Returns the y coordinate of point i.
+    */
+   public int y(int i) {
+      check(i);
+      return ys[i];
+   }
+
+   /**
+    * Returns point i as a new Point.
+    */
+   public Point point(int i) {
+      check(i);
+      return new Point(xs[i], ys[i]);
+   }
+
+   /** Returns a copy of the x coordinates, one per point. */
+   int[] xs() {
+      return Arrays.copyOf(xs, size);
+   }
+
+   /** Returns a copy of the y coordinates, one per point. */
+   int[] ys() {
+      return Arrays.copyOf(ys, size);
+   }
+
+   private void check(int i) {
+      if (i < 0 || i >= size) {
+         throw new IndexOutOfBoundsException("Error.");
+      }
+   }
+}
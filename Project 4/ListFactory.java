@@ -25,7 +25,7 @@ public class ListFactory {
       // Replace the following return statement with one that returns
       // an instance of the class you wrote to implement the
       // DoubleEndedList interface.
-      return new DoubleEndBag<T>();
+      return new RingBufferList<T>();
    }
 
 }
@@ -0,0 +1,183 @@
+import java.util.NoSuchElementException;
+import java.util.Iterator;
+
+/**
+* RingBufferList. A DoubleEndedList kept in a circular array whose length
+* is a power of two, so positions wrap with a mask instead of a division.
+* The array doubles when full and, if shrinking is on, halves when it is
+* no more than a quarter full.
+*
+* @author Li-Kai Lin
+* @version Oct/18/2026
+*/
+public class RingBufferList<T> implements DoubleEndedList<T> {
+   ///////////////field/////////////////////
+   private T[] elements;
+   //index of the first element
+   private int head;
+   private int size;
+   private final boolean shrink;
+   private static final int MIN_CAPACITY = 8;
+   private static final int MAX_CAPACITY = 1 << 30;
+      /////////////////////////////////////////
+
+   //constructors
+   /**
+    * Constructor 1.
+    * @param capacity number of elements to make room for.
+    * @param shrink true to give memory back as the list empties.
+    */
+   @SuppressWarnings("unchecked")
+   public RingBufferList(int capacity, boolean shrink) {
+      if (capacity < 0 || capacity > MAX_CAPACITY) {
+         throw new IllegalArgumentException();
+      }
+      int length = MIN_CAPACITY;
+      while (length < capacity) {
+         length *= 2;
+      }
+      elements = (T[]) new Object[length];
+      head = 0;
+      size = 0;
+      this.shrink = shrink;
+   }
+   /**
+    * Constructor 2.
+    */
+   public RingBufferList() {
+      this(MIN_CAPACITY, false);
+   }
+   ////////////////////////////////////////////////////////////////////////////
+   ////////////////////////methodes////////////////////////////////////////////
+   /**
+    * Returns size.
+    * @return size representing the number of elements
+    */
+   public int size() {
+      return size;
+   }
+
+   /**
+    * Check if its empty.
+    *
+    * @return true if empty
+    */
+   public boolean isEmpty() {
+      return size == 0;
+   }
+
+   /**
+    * Add to front.
+    */
+   public void addFirst(T elementIn) {
+      if (elementIn == null) {
+         throw new IllegalArgumentException();
+      }
+      if (size == elements.length) {
+         resize(2 * elements.length);
+      }
+      head = (head - 1) & (elements.length - 1);
+      elements[head] = elementIn;
+      size++;
+   }
+
+   /**
+    * Add to end.
+    */
+   public void addLast(T elementIn) {
+      if (elementIn == null) {
+         throw new IllegalArgumentException();
+      }
+      if (size == elements.length) {
+         resize(2 * elements.length);
+      }
+      elements[(head + size) & (elements.length - 1)] = elementIn;
+      size++;
+   }
+
+   /**
+    * remove the front.
+    */
+   public T removeFirst() {
+      if (isEmpty()) {
+         return null;
+      }
+      T elementRemoved = elements[head];
+      //let the element be collected
+      elements[head] = null;
+      head = (head + 1) & (elements.length - 1);
+      size--;
+      shrinkIfSparse();
+      return elementRemoved;
+   }
+
+   /**
+    * remove the end.
+    */
+   public T removeLast() {
+      if (isEmpty()) {
+         return null;
+      }
+      int last = (head + size - 1) & (elements.length - 1);
+      T elementRemoved = elements[last];
+      //let the element be collected
+      elements[last] = null;
+      size--;
+      shrinkIfSparse();
+      return elementRemoved;
+   }
+
+   /**
+    * iterator from front to end.
+    */
+   public Iterator<T> iterator() {
+      return new RingIterator();
+   }
+
+   //halves the array if shrinking is on and it is a quarter full or less
+   private void shrinkIfSparse() {
+      if (shrink && elements.length > MIN_CAPACITY && size <= elements.length / 4) {
+         resize(elements.length / 2);
+      }
+   }
+
+   //copies the elements, front first, into a new array of the given length
+   @SuppressWarnings("unchecked")
+   private void resize(int length) {
+      if (length <= 0 || length > MAX_CAPACITY) {
+         throw new OutOfMemoryError();
+      }
+      T[] resized = (T[]) new Object[length];
+      int firstPart = Math.min(size, elements.length - head);
+      System.arraycopy(elements, head, resized, 0, firstPart);
+      System.arraycopy(elements, 0, resized, firstPart, size - firstPart);
+      elements = resized;
+      head = 0;
+   }
+
+   ///self-made class for iterator
+   /**
+    * Nested RingIterator class.
+    */
+   private class RingIterator implements Iterator<T> {
+      private int current = 0;
+
+      //unsupported
+      public void remove() {
+         throw new UnsupportedOperationException();
+      }
+
+      public boolean hasNext() {
+         return current < size;
+      }
+
+      public T next() {
+         if (!hasNext()) {
+            throw new NoSuchElementException();
+         }
+         T storedValue = elements[(head + current) & (elements.length - 1)];
+         current++;
+         return storedValue;
+      }
+   }
+}